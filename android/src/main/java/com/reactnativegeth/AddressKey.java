@@ -0,0 +1,70 @@
+package com.reactnativegeth;
+
+import org.ethereum.geth.Address;
+
+import java.util.Arrays;
+
+/**
+ * Normalized 20-byte account address usable as a map key.
+ * Parsing from hex happens in Java, so lookups never cross JNI.
+ */
+final class AddressKey {
+    static final int LENGTH = 20;
+
+    private final byte[] bytes;
+    private final int hash;
+
+    private AddressKey(byte[] bytes) {
+        if (bytes == null || bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Address must be " + LENGTH + " bytes");
+        }
+        this.bytes = bytes;
+        this.hash = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * @param hex address in hex, 0x prefixed like geth requires, any letter case
+     * @throws IllegalArgumentException if hex is not a valid address
+     * @return the key for the address
+     */
+    static AddressKey fromHex(String hex) {
+        if (hex == null || !Hex.hasPrefix(hex)) {
+            throw new IllegalArgumentException("Address must be 0x prefixed");
+        }
+        return new AddressKey(Hex.decode(hex));
+    }
+
+    /**
+     * @param address a geth address handle
+     * @return the key for the address
+     */
+    static AddressKey of(Address address) {
+        return new AddressKey(address.getBytes());
+    }
+
+    byte[] toBytes() {
+        return bytes.clone();
+    }
+
+    String toHex() {
+        return Hex.encode(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AddressKey)) return false;
+        AddressKey other = (AddressKey) o;
+        return hash == other.hash && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -0,0 +1,116 @@
+package com.reactnativegeth;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Header;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latest balances keyed by address and head block number.
+ * Entries are only valid for the head they were fetched at, and are dropped
+ * whenever {@link NewHeadDispatcher} sees a new head. Without a head
+ * subscription there's no way to tell when a balance went stale, so every
+ * read goes to the client.
+ */
+class BalanceCache implements HeadListener {
+    // Balance queries of one balancesAt call running at the same time
+    private static final int FETCH_THREADS = 4;
+
+    private static final class Entry {
+        final long blockNumber;
+        final String balance;
+
+        Entry(long blockNumber, String balance) {
+            this.blockNumber = blockNumber;
+            this.balance = balance;
+        }
+    }
+
+    private final NewHeadDispatcher headDispatcher;
+    private final Map<AddressKey, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(FETCH_THREADS, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RNGethBalance-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    BalanceCache(NewHeadDispatcher headDispatcher) {
+        this.headDispatcher = headDispatcher;
+    }
+
+    @Override
+    public void onHead(Header header) {
+        entries.clear();
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the latest balance of an address, from the cache when it was
+     * already fetched at the current head.
+     *
+     * @param client  the client of the running node
+     * @param address the address
+     * @throws Exception - if the balance query fails
+     * @return the balance in wei, as a decimal string
+     */
+    String getBalance(EthereumClient client, AddressKey address) throws Exception {
+        // Read before fetching, so a head arriving meanwhile leaves the entry stale
+        long head = headDispatcher.isSubscribed() ? headDispatcher.getLatestNumber() : -1;
+        if (head >= 0) {
+            Entry entry = entries.get(address);
+            if (entry != null && entry.blockNumber == head) {
+                return entry.balance;
+            }
+        }
+        String balance = client.getBalanceAt(new Context(), new Address(address.toHex()), -1).toString();
+        if (head >= 0) {
+            entries.put(address, new Entry(head, balance));
+        }
+        return balance;
+    }
+
+    /**
+     * Returns the latest balances of several addresses, querying the uncached
+     * ones concurrently.
+     *
+     * @param client    the client of the running node
+     * @param addresses the addresses
+     * @throws InterruptedException - if interrupted while waiting for the queries
+     * @return one future per address, in order
+     */
+    List<Future<String>> getBalances(final EthereumClient client, List<AddressKey> addresses) throws InterruptedException {
+        List<Callable<String>> tasks = new ArrayList<>(addresses.size());
+        for (final AddressKey address : addresses) {
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return getBalance(client, address);
+                }
+            });
+        }
+        return fetchExecutor.invokeAll(tasks);
+    }
+
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableNativeArray;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Addresses and log topics watched for in the logs bloom of new heads.
+ *
+ * A watch may match a block when one of its addresses (if it has any) and
+ * all of its topics are in the block's bloom. Every address and topic sets
+ * three of the 2048 bloom bits, derived from its Keccak-256 hash, which are
+ * computed once when the watch is added so testing a header only reads bytes.
+ * Blooms have false positives, never false negatives.
+ */
+class BloomWatchList {
+    private static final int BLOOM_LENGTH = 256;
+    private static final int TOPIC_LENGTH = 32;
+
+    private static final class Watch {
+        final String id;
+        // Byte index and mask of each of the three bits, per address and per topic
+        final int[][] addresses;
+        final int[][] topics;
+
+        Watch(String id, int[][] addresses, int[][] topics) {
+            this.id = id;
+            this.addresses = addresses;
+            this.topics = topics;
+        }
+
+        boolean mayMatch(byte[] bloom) {
+            if (addresses.length > 0) {
+                boolean any = false;
+                for (int i = 0; i < addresses.length && !any; i++) {
+                    any = contains(bloom, addresses[i]);
+                }
+                if (!any) return false;
+            }
+            for (int[] topic : topics) {
+                if (!contains(bloom, topic)) return false;
+            }
+            return true;
+        }
+    }
+
+    private final Map<String, Watch> watches = new LinkedHashMap<>();
+    // Copied on every change, so matching on the geth callback thread never locks
+    private volatile Watch[] snapshot = new Watch[0];
+
+    /**
+     * Adds a watch, replacing any with the same id.
+     *
+     * @param id        the id reported when the watch may match
+     * @param addresses contract addresses in hex, or null
+     * @param topics    log topics in hex, or null
+     * @throws IllegalArgumentException - if an address or topic is malformed, or both are empty
+     */
+    synchronized void add(String id, ReadableArray addresses, ReadableArray topics) {
+        int[][] addressBits = bitsOf(addresses, AddressKey.LENGTH);
+        int[][] topicBits = bitsOf(topics, TOPIC_LENGTH);
+        if (addressBits.length == 0 && topicBits.length == 0) {
+            throw new IllegalArgumentException("A watch needs addresses or topics");
+        }
+        watches.put(id, new Watch(id, addressBits, topicBits));
+        snapshot = watches.values().toArray(new Watch[0]);
+    }
+
+    /**
+     * @param id the id of the watch
+     * @return whether there was a watch with that id
+     */
+    synchronized boolean remove(String id) {
+        boolean removed = watches.remove(id) != null;
+        snapshot = watches.values().toArray(new Watch[0]);
+        return removed;
+    }
+
+    synchronized void clear() {
+        watches.clear();
+        snapshot = new Watch[0];
+    }
+
+    /**
+     * @param bloom the 256 byte logs bloom of a header
+     * @return the ids of the watches that may match, or null if none does
+     */
+    WritableArray match(byte[] bloom) {
+        if (bloom == null || bloom.length != BLOOM_LENGTH) return null;
+        WritableArray matched = null;
+        for (Watch watch : snapshot) {
+            if (watch.mayMatch(bloom)) {
+                if (matched == null) matched = new WritableNativeArray();
+                matched.pushString(watch.id);
+            }
+        }
+        return matched;
+    }
+
+    private static int[][] bitsOf(ReadableArray items, int length) {
+        if (items == null) return new int[0][];
+        int[][] bits = new int[items.size()][];
+        for (int i = 0; i < bits.length; i++) {
+            byte[] item = Hex.decode(items.getString(i));
+            if (item.length != length) {
+                throw new IllegalArgumentException("Expected " + length + " bytes: " + items.getString(i));
+            }
+            bits[i] = bloomBits(item);
+        }
+        return bits;
+    }
+
+    /**
+     * The bits geth sets for an item: the low 11 bits of each of the first
+     * three big-endian 16-bit words of its hash, counted from the end of the bloom.
+     *
+     * @return byte index and mask of each of the three bits
+     */
+    static int[] bloomBits(byte[] item) {
+        byte[] hash = Keccak.keccak256(item);
+        int[] bits = new int[6];
+        for (int i = 0; i < 3; i++) {
+            int bit = ((hash[2 * i] & 0xff) << 8 | (hash[2 * i + 1] & 0xff)) & 2047;
+            bits[2 * i] = BLOOM_LENGTH - 1 - bit / 8;
+            bits[2 * i + 1] = 1 << (bit % 8);
+        }
+        return bits;
+    }
+
+    private static boolean contains(byte[] bloom, int[] bits) {
+        for (int i = 0; i < bits.length; i += 2) {
+            if ((bloom[bits[i]] & bits[i + 1]) == 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,233 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the latency, call count and errors by code of every bridge method.
+ * A call is timed from when it reaches the module until its promise settles,
+ * so it includes the time spent waiting on an execution lane.
+ * Each call costs a small promise wrapper plus a few atomic increments and no
+ * locks when it settles, so it stays on.
+ */
+class BridgeMetrics {
+    static final String METRICS_EVENT = "GethMetrics";
+    // Code reported for rejections without one, as React Native does
+    private static final String UNSPECIFIED_ERROR = "EUNSPECIFIED";
+
+    static final class MethodStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final ConcurrentHashMap<String, AtomicLong> errorsByCode = new ConcurrentHashMap<>();
+
+        void record(long nanos, String errorCode) {
+            latency.record(nanos);
+            calls.incrementAndGet();
+            if (errorCode == null) return;
+            errors.incrementAndGet();
+            AtomicLong count = errorsByCode.get(errorCode);
+            if (count == null) {
+                AtomicLong created = new AtomicLong();
+                count = errorsByCode.putIfAbsent(errorCode, created);
+                if (count == null) count = created;
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Forwards to the bridge promise, recording the call once it settles.
+     * The overloads without @Override only exist in some React Native versions;
+     * the module never calls them, so they forward without the user info.
+     */
+    private static final class TrackedPromise implements Promise {
+        private final MethodStats stats;
+        private final Promise promise;
+        private final long startedAt;
+        private volatile boolean settled;
+
+        TrackedPromise(MethodStats stats, Promise promise) {
+            this.stats = stats;
+            this.promise = promise;
+            this.startedAt = System.nanoTime();
+        }
+
+        private void settle(String errorCode) {
+            if (settled) return;
+            settled = true;
+            stats.record(System.nanoTime() - startedAt, errorCode);
+        }
+
+        private void fail(String code) {
+            settle(code != null ? code : UNSPECIFIED_ERROR);
+        }
+
+        @Override
+        public void resolve(Object value) {
+            settle(null);
+            promise.resolve(value);
+        }
+
+        @Override
+        public void reject(String code, String message) {
+            fail(code);
+            promise.reject(code, message);
+        }
+
+        @Override
+        public void reject(String code, Throwable throwable) {
+            fail(code);
+            promise.reject(code, throwable);
+        }
+
+        @Override
+        public void reject(String code, String message, Throwable throwable) {
+            fail(code);
+            promise.reject(code, message, throwable);
+        }
+
+        public void reject(Throwable throwable) {
+            fail(null);
+            promise.reject(null, throwable);
+        }
+
+        public void reject(Throwable throwable, WritableMap userInfo) {
+            fail(null);
+            promise.reject(null, throwable);
+        }
+
+        public void reject(String code, WritableMap userInfo) {
+            fail(code);
+            promise.reject(code, (String) null);
+        }
+
+        public void reject(String code, Throwable throwable, WritableMap userInfo) {
+            fail(code);
+            promise.reject(code, throwable);
+        }
+
+        public void reject(String code, String message, WritableMap userInfo) {
+            fail(code);
+            promise.reject(code, message);
+        }
+
+        public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+            fail(code);
+            promise.reject(code, message, throwable);
+        }
+
+        @Deprecated
+        public void reject(String message) {
+            fail(null);
+            promise.reject(null, message);
+        }
+    }
+
+    private final EventEmitter emitter;
+    private final ConcurrentHashMap<String, MethodStats> methods = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+
+    BridgeMetrics(EventEmitter emitter) {
+        this.emitter = emitter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethMetrics");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Starts timing a call.
+     *
+     * @param method  the name of the bridge method
+     * @param promise the promise of the call
+     * @return the promise to settle instead, which records the call
+     */
+    Promise track(String method, Promise promise) {
+        MethodStats stats = methods.get(method);
+        if (stats == null) {
+            MethodStats created = new MethodStats();
+            stats = methods.putIfAbsent(method, created);
+            if (stats == null) stats = created;
+        }
+        return new TrackedPromise(stats, promise);
+    }
+
+    /**
+     * @return a map of method name to {calls, errors, errorsByCode, p50Ms, p90Ms, p99Ms, maxMs}
+     */
+    WritableMap toMap() {
+        WritableMap result = new WritableNativeMap();
+        for (Map.Entry<String, MethodStats> entry : methods.entrySet()) {
+            MethodStats stats = entry.getValue();
+            long max = stats.latency.getMaxMicros();
+            long[] counts = stats.latency.snapshot();
+            WritableMap method = new WritableNativeMap();
+            method.putDouble("calls", stats.calls.get());
+            method.putDouble("errors", stats.errors.get());
+            WritableMap errorsByCode = new WritableNativeMap();
+            for (Map.Entry<String, AtomicLong> error : stats.errorsByCode.entrySet()) {
+                errorsByCode.putDouble(error.getKey(), error.getValue().get());
+            }
+            method.putMap("errorsByCode", errorsByCode);
+            method.putDouble("p50Ms", LatencyHistogram.percentile(counts, 0.5, max) / 1000.0);
+            method.putDouble("p90Ms", LatencyHistogram.percentile(counts, 0.9, max) / 1000.0);
+            method.putDouble("p99Ms", LatencyHistogram.percentile(counts, 0.99, max) / 1000.0);
+            method.putDouble("maxMs", max / 1000.0);
+            result.putMap(entry.getKey(), method);
+        }
+        return result;
+    }
+
+    /**
+     * Forgets everything recorded so far.
+     */
+    void reset() {
+        methods.clear();
+    }
+
+    /**
+     * Starts emitting the metrics as GethMetrics events, replacing a running emitter.
+     *
+     * @param intervalMs time between two events
+     */
+    synchronized void startUpdates(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("intervalMs must be positive");
+        }
+        stopUpdates();
+        task = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                emitter.emit(METRICS_EVENT, toMap());
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stopUpdates() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    void shutdown() {
+        stopUpdates();
+        scheduler.shutdownNow();
+    }
+}
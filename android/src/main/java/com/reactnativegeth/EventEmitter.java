@@ -0,0 +1,28 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+/**
+ * Sends events to the JS side through the device event emitter.
+ */
+class EventEmitter {
+    private final ReactApplicationContext reactContext;
+
+    EventEmitter(ReactApplicationContext reactContext) {
+        this.reactContext = reactContext;
+    }
+
+    /**
+     * Emits an event, dropping it when no JS instance is attached (e.g. while reloading).
+     *
+     * @param eventName name of the event
+     * @param payload   a writable map or array, or a primitive
+     */
+    void emit(String eventName, Object payload) {
+        if (!reactContext.hasActiveCatalystInstance()) return;
+        reactContext
+                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                .emit(eventName, payload);
+    }
+}
@@ -0,0 +1,163 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.Promise;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the bridge methods off the React Native module thread, on separate lanes
+ * so that a slow call of one kind never waits behind calls of another kind.
+ * Each lane has its own threads and a bounded number of calls waiting to run;
+ * calls beyond that are rejected with LANE_BUSY_ERROR instead of piling up.
+ * The crypto lane has a single thread, so calls using the key store run in
+ * the order they were made, e.g. a signature after the unlock it relies on.
+ * Every call is recorded in the bridge metrics, including rejected ones.
+ */
+class ExecutionLanes {
+    private static final String TAG = "RNGeth";
+    static final String LANE_BUSY_ERROR = "LANE_BUSY_ERROR";
+    static final String UNEXPECTED_ERROR = "UNEXPECTED_ERROR";
+
+    enum Lane {
+        // Signing, unlocking, ECDH, decryption and account changes, in call order
+        CRYPTO(1, 64),
+        // Queries through the ethereum client, which may wait on peers
+        NETWORK(4, 32),
+        // Cheap reads of local state
+        STATE(1, 64);
+
+        final int threads;
+        final int defaultQueueDepth;
+
+        Lane(int threads, int defaultQueueDepth) {
+            this.threads = threads;
+            this.defaultQueueDepth = defaultQueueDepth;
+        }
+    }
+
+    /**
+     * The body of a bridge call, settling the promise it's given.
+     */
+    interface Call {
+        void run(Promise promise);
+    }
+
+    private final BridgeMetrics metrics;
+    private final ThreadPoolExecutor[] executors = new ThreadPoolExecutor[Lane.values().length];
+    private final AtomicInteger[] waiting = new AtomicInteger[Lane.values().length];
+    private final int[] queueDepths = new int[Lane.values().length];
+    // Calls of every lane waiting or running
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    ExecutionLanes(BridgeMetrics metrics) {
+        this.metrics = metrics;
+        for (final Lane lane : Lane.values()) {
+            int i = lane.ordinal();
+            executors[i] = new ThreadPoolExecutor(lane.threads, lane.threads,
+                    0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        private final AtomicInteger count = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "RNGeth" + lane.name() + "-" + count.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+            waiting[i] = new AtomicInteger();
+            queueDepths[i] = lane.defaultQueueDepth;
+        }
+    }
+
+    /**
+     * Sets how many calls may wait for a thread of the lane.
+     *
+     * @param lane  the lane
+     * @param depth the maximum number of waiting calls
+     */
+    synchronized void setQueueDepth(Lane lane, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Queue depth must not be negative");
+        }
+        queueDepths[lane.ordinal()] = depth;
+    }
+
+    synchronized int getQueueDepth(Lane lane) {
+        return queueDepths[lane.ordinal()];
+    }
+
+    /**
+     * Runs a bridge call on a lane, or rejects its promise if the lane is full.
+     * The call is responsible for settling the promise; unexpected runtime
+     * exceptions are caught here so they can't take down the lane's thread.
+     *
+     * @param lane    the lane to run on
+     * @param method  the name of the bridge method, for the metrics
+     * @param promise the promise of the call
+     * @param call    the body of the call
+     */
+    void execute(Lane lane, String method, Promise promise, final Call call) {
+        final Promise tracked = metrics.track(method, promise);
+        final AtomicInteger laneWaiting = waiting[lane.ordinal()];
+        if (laneWaiting.incrementAndGet() > getQueueDepth(lane)) {
+            laneWaiting.decrementAndGet();
+            tracked.reject(LANE_BUSY_ERROR, "Too many calls waiting on the " + lane.name() + " lane");
+            return;
+        }
+        inFlight.incrementAndGet();
+        try {
+            executors[lane.ordinal()].execute(new Runnable() {
+                @Override
+                public void run() {
+                    laneWaiting.decrementAndGet();
+                    try {
+                        call.run(tracked);
+                    } catch (RuntimeException e) {
+                        Log.e(TAG, "Unexpected error in bridge call", e);
+                        tracked.reject(UNEXPECTED_ERROR, e);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shut down with the React instance
+            inFlight.decrementAndGet();
+            laneWaiting.decrementAndGet();
+            tracked.reject(LANE_BUSY_ERROR, "The " + lane.name() + " lane is shut down");
+        }
+    }
+
+    /**
+     * @return how many calls are waiting or running on any lane
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Runs a task of the module on a lane, after the calls already waiting there.
+     * It doesn't count against the lane's queue depth.
+     *
+     * @param lane the lane to run on
+     * @param task the task
+     * @throws RejectedExecutionException - if the lane is shut down
+     */
+    void enqueue(Lane lane, Runnable task) {
+        executors[lane.ordinal()].execute(task);
+    }
+
+    void shutdown() {
+        for (ThreadPoolExecutor executor : executors) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Header;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The suggested gas price of the current head block.
+ * It's dropped whenever {@link NewHeadDispatcher} sees a new head, and refreshed
+ * in the background right away only if it was read since the previous refresh,
+ * so no query is made for blocks nobody asks the gas price of. It's served from
+ * memory as long as it's younger than the max age.
+ */
+class GasPriceCache implements HeadListener {
+    private static final String TAG = "RNGeth";
+    static final long DEFAULT_MAX_AGE_MS = 30 * 1000;
+
+    private static final class Entry {
+        final String gasPrice;
+        final long fetchedAtNanos;
+
+        Entry(String gasPrice, long fetchedAtNanos) {
+            this.gasPrice = gasPrice;
+            this.fetchedAtNanos = fetchedAtNanos;
+        }
+    }
+
+    private final GethHolder gethHolder;
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RNGethGasPrice");
+            t.setDaemon(true);
+            return t;
+        }
+    });
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final AtomicBoolean readSinceRefresh = new AtomicBoolean();
+    private final Runnable refreshTask = new Runnable() {
+        @Override
+        public void run() {
+            refreshPending.set(false);
+            try {
+                fetch(gethHolder.getNode().getEthereumClient());
+            } catch (Exception e) {
+                Log.w(TAG, "Failed refreshing gas price: " + e.getMessage());
+            }
+        }
+    };
+    private volatile Entry entry;
+    // Bumped on every head, so a query that started before a head can't store its stale result
+    private long generation;
+    private volatile long maxAgeNanos = DEFAULT_MAX_AGE_MS * 1000 * 1000;
+
+    GasPriceCache(GethHolder gethHolder) {
+        this.gethHolder = gethHolder;
+    }
+
+    /**
+     * @param maxAgeMs how old a cached gas price may be before it's fetched again, 0 disables the cache
+     */
+    void setMaxAge(long maxAgeMs) {
+        if (maxAgeMs < 0) {
+            throw new IllegalArgumentException("Max age must not be negative");
+        }
+        maxAgeNanos = maxAgeMs * 1000 * 1000;
+    }
+
+    @Override
+    public void onHead(Header header) {
+        clear();
+        if (readSinceRefresh.getAndSet(false) && refreshPending.compareAndSet(false, true)) {
+            refreshExecutor.execute(refreshTask);
+        }
+    }
+
+    synchronized void clear() {
+        generation++;
+        entry = null;
+    }
+
+    /**
+     * @param client the client of the running node
+     * @throws Exception - if the gas price query fails
+     * @return the suggested gas price in wei, as a decimal string
+     */
+    String getGasPrice(EthereumClient client) throws Exception {
+        readSinceRefresh.set(true);
+        Entry current = entry;
+        if (current != null && System.nanoTime() - current.fetchedAtNanos <= maxAgeNanos) {
+            return current.gasPrice;
+        }
+        return fetch(client);
+    }
+
+    private String fetch(EthereumClient client) throws Exception {
+        long fetchGeneration;
+        synchronized (this) {
+            fetchGeneration = generation;
+        }
+        long fetchedAt = System.nanoTime();
+        String gasPrice = client.suggestGasPrice(new Context()).toString();
+        synchronized (this) {
+            if (fetchGeneration == generation) {
+                entry = new Entry(gasPrice, fetchedAt);
+            }
+        }
+        return gasPrice;
+    }
+
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
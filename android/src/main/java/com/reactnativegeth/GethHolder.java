@@ -1,37 +1,125 @@
 package com.reactnativegeth;
 
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.WritableArray;
-import com.facebook.react.bridge.WritableMap;
-import com.facebook.react.bridge.WritableNativeArray;
-import com.facebook.react.bridge.WritableNativeMap;
 
 import org.ethereum.geth.Account;
 import org.ethereum.geth.Accounts;
-import org.ethereum.geth.Address;
 import org.ethereum.geth.KeyStore;
 import org.ethereum.geth.Node;
 import org.ethereum.geth.NodeConfig;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.Writer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GethHolder {
+    /**
+     * Lifecycle of the node, see {@link NodeLifecycle} for the transitions.
+     */
+    public enum NodeState {
+        UNCONFIGURED,
+        CONFIGURED,
+        STARTING,
+        STARTED,
+        STOPPING,
+        STOPPED,
+        FAILED
+    }
+
+    /**
+     * A node with its own data directory and config. Every instance shares the
+     * key store; one of them is active at a time, and the module's queries go
+     * to the active one.
+     */
+    static final class NodeInstance {
+        final String name;
+        private volatile Node node;
+        private volatile NodeConfig config;
+        private volatile String dataDir;
+        private final AtomicReference<NodeState> state = new AtomicReference<>(NodeState.UNCONFIGURED);
+
+        NodeInstance(String name) {
+            this.name = name;
+        }
+
+        Node getNode() {
+            return node;
+        }
+
+        NodeConfig getNodeConfig() {
+            return config;
+        }
+
+        String getDataDir() {
+            return dataDir;
+        }
+
+        /**
+         * Replaces the node of the instance, which must not be running.
+         *
+         * @param node    the new node
+         * @param config  the config the node was made with
+         * @param dataDir the data directory of the node
+         */
+        void configure(Node node, NodeConfig config, String dataDir) {
+            this.node = node;
+            this.config = config;
+            this.dataDir = dataDir;
+            this.state.set(NodeState.CONFIGURED);
+        }
+
+        NodeState getState() {
+            return state.get();
+        }
+
+        boolean compareAndSetState(NodeState expect, NodeState update) {
+            return state.compareAndSet(expect, update);
+        }
+
+        void setState(NodeState state) {
+            this.state.set(state);
+        }
+    }
+
+    static final String DEFAULT_INSTANCE = "default";
     private static final String ETH_DIR = ".ethereum";
     private static final String STATIC_NODES_FILES_PATH = "/" + ETH_DIR + "/GethDroid/";
     private static final String STATIC_NODES_FILES_NAME = "static-nodes.json";
+    // Minimum time between two key store scans caused by misses of the same address
+    private static final long RESCAN_INTERVAL_NANOS = 1000L * 1000 * 1000;
+    // Unknown addresses remembered at most, the oldest are forgotten beyond this
+    private static final int MAX_MISSES = 256;
 
-    private Account account;
-    private Node node;
-    private boolean nodeStarted;
-    private NodeConfig ndConfig;
-    private KeyStore keyStore;
+    // Read from the execution lanes' threads, hence volatile
+    private volatile Account account;
+    private final ConcurrentHashMap<String, NodeInstance> instances = new ConcurrentHashMap<>();
+    private final NodeInstance defaultInstance = new NodeInstance(DEFAULT_INSTANCE);
+    private volatile NodeInstance activeInstance = defaultInstance;
+    private volatile KeyStore keyStore;
+    // Account handles of the current keyStore, so lookups don't have to scan it over JNI.
+    // Read without locking, a rebuild publishes a complete new map
+    private volatile Map<AddressKey, Account> accountIndex = new ConcurrentHashMap<>();
+    // When each unknown address last caused a scan, guarded by this
+    private final LinkedHashMap<AddressKey, Long> misses = new LinkedHashMap<AddressKey, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AddressKey, Long> eldest) {
+            return size() > MAX_MISSES;
+        }
+    };
+    // Serializes key store scans, which run outside the holder's lock
+    private final Object scanLock = new Object();
+    // Index changes made while a scan runs, replayed onto its result; null otherwise. Guarded by this
+    private List<Map.Entry<AddressKey, Account>> scanChanges;
     private ReactApplicationContext reactContext;
 
     protected GethHolder() {
+        instances.put(DEFAULT_INSTANCE, defaultInstance);
         try {
             NodeConfig nc = new NodeConfig();
             setNodeConfig(nc);
@@ -45,27 +133,89 @@ public class GethHolder {
     }
 
     protected NodeConfig getNodeConfig() {
-        return ndConfig;
+        return activeInstance.config;
     }
 
     protected void setNodeConfig(NodeConfig nc) {
-        this.ndConfig = nc;
+        activeInstance.config = nc;
     }
 
     protected Node getNode() {
-        return node;
+        return activeInstance.node;
     }
 
     protected void setNode(Node node) {
-        this.node = node;
+        activeInstance.node = node;
     }
 
     protected boolean getNodeStarted() {
-        return nodeStarted;
+        return activeInstance.getState() == NodeState.STARTED;
+    }
+
+    protected NodeState getNodeState() {
+        return activeInstance.getState();
+    }
+
+    /**
+     * Moves the active node to a new state if it's still in the expected one.
+     *
+     * @param expect the state the node must be in
+     * @param update the new state
+     * @return whether the state was changed
+     */
+    protected boolean compareAndSetNodeState(NodeState expect, NodeState update) {
+        return activeInstance.compareAndSetState(expect, update);
+    }
+
+    protected void setNodeState(NodeState state) {
+        activeInstance.setState(state);
+    }
+
+    protected NodeInstance getActiveInstance() {
+        return activeInstance;
+    }
+
+    /**
+     * Makes another instance the one queries go to. Callers are expected to
+     * serialize switches with starting and stopping nodes.
+     *
+     * @param instance an instance of this holder
+     */
+    protected void setActiveInstance(NodeInstance instance) {
+        this.activeInstance = instance;
+    }
+
+    /**
+     * @return the instance configured by setConfig at first, whose node reads static-nodes.json
+     */
+    protected NodeInstance getDefaultInstance() {
+        return defaultInstance;
+    }
+
+    /**
+     * @param name the name of the instance
+     * @return the instance, or null if there's none by that name
+     */
+    protected NodeInstance getInstance(String name) {
+        return instances.get(name);
+    }
+
+    /**
+     * @param name the name of the instance
+     * @return the instance by that name, created unconfigured if there was none
+     */
+    protected NodeInstance getOrCreateInstance(String name) {
+        NodeInstance instance = instances.get(name);
+        if (instance == null) {
+            NodeInstance created = new NodeInstance(name);
+            instance = instances.putIfAbsent(name, created);
+            if (instance == null) instance = created;
+        }
+        return instance;
     }
 
-    protected void setNodeStarted(boolean nodeStarted) {
-        this.nodeStarted = nodeStarted;
+    protected List<NodeInstance> getInstances() {
+        return new ArrayList<>(instances.values());
     }
 
     protected Account getAccount() {
@@ -80,40 +230,126 @@ public class GethHolder {
         return keyStore;
     }
 
-    protected void setKeyStore(KeyStore keyStore) {
+    protected void setKeyStore(KeyStore keyStore) throws Exception {
         this.keyStore = keyStore;
+        rebuildAccountIndex();
     }
 
+    /**
+     * Looks up an account of the key store by address.
+     * Served from the account index; the key store is only scanned again on a miss,
+     * in case key files were added behind our back, and at most once per second
+     * for the same unknown address.
+     *
+     * @param rawAddress the address in hex
+     * @throws IllegalArgumentException - when the address is malformed
+     * @throws NoSuchElementException - when no account is found for the address
+     * @return the account
+     */
     protected Account findAccount(String rawAddress) throws Exception {
-        String address = new Address(rawAddress).getHex();
-        Accounts accounts = this.keyStore.getAccounts();
-        Long nb = accounts.size();
-        for (long i = 0; i < nb; i++) {
-            Account acc = accounts.get(i);
-            if (acc.getAddress().getHex().equals(address)) {
-                return acc;
+        AddressKey key = AddressKey.fromHex(rawAddress);
+        Account acc = accountIndex.get(key);
+        if (acc == null) {
+            acc = rescanForAccount(key);
+        }
+        if (acc == null) {
+            throw new NoSuchElementException("Could not find account in keystore");
+        }
+        return acc;
+    }
+
+    /**
+     * Adds an account created or imported through the key store to the account index.
+     *
+     * @param account the account
+     */
+    protected void indexAccount(Account account) {
+        applyIndexChange(AddressKey.of(account.getAddress()), account);
+    }
+
+    /**
+     * Drops a deleted account from the account index.
+     *
+     * @param account the account
+     */
+    protected void unindexAccount(Account account) {
+        applyIndexChange(AddressKey.of(account.getAddress()), null);
+    }
+
+    private synchronized void applyIndexChange(AddressKey key, Account account) {
+        if (account != null) {
+            accountIndex.put(key, account);
+        } else {
+            accountIndex.remove(key);
+        }
+        if (scanChanges != null) {
+            scanChanges.add(new AbstractMap.SimpleEntry<>(key, account));
+        }
+    }
+
+    private Account rescanForAccount(AddressKey key) throws Exception {
+        long now = System.nanoTime();
+        synchronized (this) {
+            Long missedAt = misses.get(key);
+            if (missedAt != null && now - missedAt < RESCAN_INTERVAL_NANOS) return null;
+        }
+        rebuildAccountIndex();
+        Account acc = accountIndex.get(key);
+        if (acc == null) {
+            synchronized (this) {
+                misses.put(key, now);
             }
         }
-        throw new NoSuchElementException("Could not find account in keystore");
+        return acc;
     }
 
-    protected void writeStaticNodesFile(String enodes) {
-        try {
-            File dir = new File(this.reactContext
-                    .getFilesDir() + STATIC_NODES_FILES_PATH);
-            if (dir.exists() == false) dir.mkdirs();
-            File f = new File(dir, STATIC_NODES_FILES_NAME);
-            if (f.exists() == false) {
-                if (f.createNewFile() == true) {
-                    WritableArray staticNodes = new WritableNativeArray();
-                    staticNodes.pushString(enodes);
-                    Writer output = new BufferedWriter(new FileWriter(f));
-                    output.write(staticNodes.toString());
-                    output.close();
+    /**
+     * Scans the key store into a new index and swaps it in, so concurrent lookups
+     * see either the old or the new index in full. The scan runs outside the
+     * holder's lock; the index changes made meanwhile are replayed onto the new
+     * index before it's published, so none of them is lost.
+     */
+    private void rebuildAccountIndex() throws Exception {
+        synchronized (scanLock) {
+            KeyStore scanned;
+            synchronized (this) {
+                scanned = this.keyStore;
+                scanChanges = new ArrayList<>();
+            }
+            Map<AddressKey, Account> index = new ConcurrentHashMap<>();
+            try {
+                if (scanned != null) {
+                    Accounts accounts = scanned.getAccounts();
+                    long nb = accounts.size();
+                    for (long i = 0; i < nb; i++) {
+                        Account account = accounts.get(i);
+                        index.put(AddressKey.of(account.getAddress()), account);
+                    }
                 }
+            } catch (Exception e) {
+                synchronized (this) {
+                    scanChanges = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (Map.Entry<AddressKey, Account> change : scanChanges) {
+                    if (change.getValue() != null) {
+                        index.put(change.getKey(), change.getValue());
+                    } else {
+                        index.remove(change.getKey());
+                    }
+                }
+                scanChanges = null;
+                accountIndex = index;
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
     }
+
+    /**
+     * @return the static-nodes.json file the node reads its static peers from
+     */
+    protected File getStaticNodesFile() {
+        return new File(this.reactContext.getFilesDir() + STATIC_NODES_FILES_PATH, STATIC_NODES_FILES_NAME);
+    }
 }
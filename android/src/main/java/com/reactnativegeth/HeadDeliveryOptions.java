@@ -0,0 +1,66 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.Locale;
+
+/**
+ * How new heads are delivered to JS, parsed from the subscribeNewHead options.
+ */
+final class HeadDeliveryOptions {
+    enum Mode {
+        // Emit GethNewHead for every header, maxEmitsPerSecond doesn't apply
+        EVERY,
+        // Emit GethNewHead for the latest header only, at most maxEmitsPerSecond times per second
+        LATEST,
+        // Emit GethNewHeads with every header received since the previous emit
+        BATCH,
+        // Emit GethRelevantHead for the headers whose bloom may match a watch of the BloomWatchList
+        RELEVANT
+    }
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    final Mode mode;
+    // Minimum time between two emits, 0 when not rate limited
+    final long minIntervalNanos;
+    // Headers kept for the next batch, the oldest ones are dropped beyond this
+    final int maxBatchSize;
+    final HeaderSerializer serializer;
+
+    HeadDeliveryOptions(Mode mode, double maxEmitsPerSecond, int maxBatchSize, HeaderSerializer serializer) {
+        if (maxEmitsPerSecond < 0) {
+            throw new IllegalArgumentException("maxEmitsPerSecond must not be negative");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.mode = mode;
+        this.minIntervalNanos = maxEmitsPerSecond == 0 ? 0 : (long) (1e9 / maxEmitsPerSecond);
+        this.maxBatchSize = maxBatchSize;
+        this.serializer = serializer;
+    }
+
+    static HeadDeliveryOptions every() {
+        return new HeadDeliveryOptions(Mode.EVERY, 0, DEFAULT_MAX_BATCH_SIZE, HeaderSerializer.FULL);
+    }
+
+    /**
+     * @param options {mode: "every" | "latest" | "batch" | "relevant", maxEmitsPerSecond, maxBatchSize,
+     *                fields: header fields to emit, byteEncoding: "array" | "hex" | "base64"}
+     * @throws IllegalArgumentException on unknown modes or out of range values
+     * @return the parsed options
+     */
+    static HeadDeliveryOptions fromMap(ReadableMap options) {
+        Mode mode = Mode.EVERY;
+        double maxEmitsPerSecond = 0;
+        int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        if (options.hasKey("mode")) mode = Mode.valueOf(options.getString("mode").toUpperCase(Locale.US));
+        if (options.hasKey("maxEmitsPerSecond")) maxEmitsPerSecond = options.getDouble("maxEmitsPerSecond");
+        if (options.hasKey("maxBatchSize")) maxBatchSize = options.getInt("maxBatchSize");
+        HeaderSerializer serializer = HeaderSerializer.create(
+                options.hasKey("fields") ? options.getArray("fields") : null,
+                options.hasKey("byteEncoding") ? options.getString("byteEncoding") : null);
+        return new HeadDeliveryOptions(mode, maxEmitsPerSecond, maxBatchSize, serializer);
+    }
+}
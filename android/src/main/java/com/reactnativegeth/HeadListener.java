@@ -0,0 +1,12 @@
+package com.reactnativegeth;
+
+import org.ethereum.geth.Header;
+
+/**
+ * Native consumer of new chain heads, called by {@link NewHeadDispatcher} on the
+ * geth callback thread for every header, before any JS delivery happens.
+ * Implementations must return quickly and hand slow work off to another thread.
+ */
+interface HeadListener {
+    void onHead(Header header);
+}
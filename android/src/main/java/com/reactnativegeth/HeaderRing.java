@@ -0,0 +1,298 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Header;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The most recent headers seen, kept in a memory-mapped ring file under the
+ * node data directory so they can be shown right after a restart, before the
+ * node is started. The header of block n goes to slot n % capacity.
+ *
+ * The file starts with {magic, version, capacity, slot size, latest number}
+ * followed by fixed size slots of {crc32, number, hash, parentHash, coinbase,
+ * root, txHash, receiptHash, bloom, gasUsed, time, extra length, extra}, where
+ * the crc covers the rest of the slot so torn and empty slots are skipped.
+ * Extra data longer than a slot holds isn't stored, its length is then -1.
+ */
+class HeaderRing {
+    static final String FILE_NAME = "recent-headers.ring";
+    static final int DEFAULT_CAPACITY = 128;
+    // 64 MB of slots, well within the int offsets of a mapping
+    static final int MAX_CAPACITY = 1 << 16;
+    private static final int MAGIC = 0x524e4748; // "RNGH"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 32;
+    private static final int LATEST_OFFSET = 16;
+    private static final int SLOT_SIZE = 1024;
+    private static final int HASH_LENGTH = 32;
+    private static final int BLOOM_LENGTH = 256;
+    // crc, number, 5 hashes, coinbase, bloom, gasUsed, time, extra length
+    private static final int FIXED_SIZE = 4 + 8 + 5 * HASH_LENGTH + AddressKey.LENGTH + BLOOM_LENGTH + 8 + 8 + 4;
+    private static final int MAX_EXTRA = SLOT_SIZE - FIXED_SIZE;
+
+    private File file;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private final byte[] slot = new byte[SLOT_SIZE];
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Maps the ring file of a data directory, creating it, or recreating it
+     * when it was written with another layout or capacity.
+     *
+     * @param dataDir  the node data directory
+     * @param capacity how many headers are kept
+     * @throws IOException - if the file can't be mapped
+     */
+    synchronized void open(File dataDir, int capacity) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("recentHeadersCapacity must be between 1 and " + MAX_CAPACITY);
+        }
+        File ringFile = new File(dataDir, FILE_NAME);
+        if (ringFile.equals(file) && capacity == this.capacity) return;
+        close();
+        if (!dataDir.exists() && !dataDir.mkdirs()) {
+            throw new IOException("Could not create " + dataDir);
+        }
+        long size = FILE_HEADER_SIZE + (long) capacity * SLOT_SIZE;
+        RandomAccessFile raf = new RandomAccessFile(ringFile, "rw");
+        try {
+            boolean valid = raf.length() == size && raf.readInt() == MAGIC && raf.readInt() == VERSION
+                    && raf.readInt() == capacity && raf.readInt() == SLOT_SIZE;
+            if (!valid) {
+                raf.setLength(0);
+                raf.setLength(size);
+            }
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (!valid) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, capacity);
+                buffer.putInt(12, SLOT_SIZE);
+                buffer.putLong(LATEST_OFFSET, -1);
+            }
+        } finally {
+            // The mapping stays valid once the file is closed
+            raf.close();
+        }
+        this.file = ringFile;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Maps the ring file of another data directory, keeping the capacity.
+     *
+     * @param dataDir the node data directory
+     * @throws IOException - if the file can't be mapped
+     */
+    synchronized void moveTo(File dataDir) throws IOException {
+        open(dataDir, capacity > 0 ? capacity : DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Flushes the ring to disk and unmaps it.
+     */
+    synchronized void close() {
+        if (buffer == null) return;
+        buffer.force();
+        buffer = null;
+        file = null;
+    }
+
+    /**
+     * Stores a header, unless the ring already holds it, and makes it the latest.
+     *
+     * @param header the header
+     */
+    synchronized void record(Header header) {
+        if (buffer == null) return;
+        long number = header.getNumber();
+        byte[] hash = header.getHash().getBytes();
+        int offset = slotOffset(number);
+        if (readSlot(offset) && buffer.getLong(offset + 4) == number && sameHash(offset, hash)) {
+            // Back to a header already stored, e.g. a reorganization to an earlier branch
+            buffer.putLong(LATEST_OFFSET, number);
+            return;
+        }
+        int position = 4;
+        position = putLong(position, number);
+        position = put(position, hash);
+        position = put(position, header.getParentHash().getBytes());
+        position = put(position, header.getCoinbase().getBytes());
+        position = put(position, header.getRoot().getBytes());
+        position = put(position, header.getTxHash().getBytes());
+        position = put(position, header.getReceiptHash().getBytes());
+        position = put(position, header.getBloom().getBytes());
+        position = putLong(position, header.getGasUsed());
+        position = putLong(position, header.getTime());
+        byte[] extra = header.getExtra();
+        if (extra != null && extra.length <= MAX_EXTRA) {
+            position = putInt(position, extra.length);
+            position = put(position, extra);
+        } else {
+            position = putInt(position, -1);
+        }
+        Arrays.fill(slot, position, SLOT_SIZE, (byte) 0);
+        crc.reset();
+        crc.update(slot, 4, SLOT_SIZE - 4);
+        putInt(0, (int) crc.getValue());
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.put(slot);
+        // The newest header is the head even when lower, after a reorganization
+        buffer.putLong(LATEST_OFFSET, number);
+    }
+
+    /**
+     * Reads back the most recent headers, newest first, in the format of
+     * GethNewHead events. Slots older than the ring's capacity below the latest
+     * header, or left over from a reorganized branch above it, are skipped.
+     *
+     * @param count how many headers to return at most
+     * @return the headers
+     */
+    synchronized WritableArray read(int count) {
+        if (buffer == null) {
+            throw new IllegalStateException("No recent headers, call setConfig first");
+        }
+        WritableArray headers = new WritableNativeArray();
+        long latest = buffer.getLong(LATEST_OFFSET);
+        for (long number = latest; number >= 0 && number > latest - capacity && headers.size() < count; number--) {
+            int offset = slotOffset(number);
+            if (readSlot(offset) && buffer.getLong(offset + 4) == number) {
+                headers.pushMap(toMap());
+            }
+        }
+        return headers;
+    }
+
+    private int slotOffset(long number) {
+        return FILE_HEADER_SIZE + (int) (number % capacity) * SLOT_SIZE;
+    }
+
+    /**
+     * Copies a slot out of the mapping and checks it.
+     *
+     * @return whether the slot holds a complete header
+     */
+    private boolean readSlot(int offset) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(slot);
+        crc.reset();
+        crc.update(slot, 4, SLOT_SIZE - 4);
+        return getInt(0) == (int) crc.getValue();
+    }
+
+    private boolean sameHash(int offset, byte[] hash) {
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            if (buffer.get(offset + 12 + i) != hash[i]) return false;
+        }
+        return true;
+    }
+
+    private WritableMap toMap() {
+        int position = 4;
+        long number = getLong(position);
+        position += 8;
+        WritableMap header = new WritableNativeMap();
+        header.putString("hash", hex(position, HASH_LENGTH));
+        position += HASH_LENGTH;
+        header.putString("parentHash", hex(position, HASH_LENGTH));
+        position += HASH_LENGTH;
+        header.putString("coinbase", address(position));
+        position += AddressKey.LENGTH;
+        header.putString("root", hex(position, HASH_LENGTH));
+        position += HASH_LENGTH;
+        header.putString("TxHash", hex(position, HASH_LENGTH));
+        position += HASH_LENGTH;
+        header.putString("receiptHash", hex(position, HASH_LENGTH));
+        position += HASH_LENGTH;
+        header.putString("bloom", hex(position, BLOOM_LENGTH));
+        position += BLOOM_LENGTH;
+        header.putDouble("number", (double) number);
+        header.putDouble("gasUsed", (double) getLong(position));
+        position += 8;
+        header.putDouble("time", (double) getLong(position));
+        position += 8;
+        int extraLength = getInt(position);
+        position += 4;
+        if (extraLength < 0) {
+            header.putNull("extra");
+        } else {
+            WritableArray extra = new WritableNativeArray();
+            for (int i = 0; i < extraLength; i++) {
+                extra.pushInt(slot[position + i]);
+            }
+            header.putArray("extra", extra);
+        }
+        return header;
+    }
+
+    private String hex(int position, int length) {
+        return Hex.encode(Arrays.copyOfRange(slot, position, position + length));
+    }
+
+    /**
+     * @return the address at a position, checksummed like GethNewHead reports it
+     */
+    private String address(int position) {
+        try {
+            return new Address(Arrays.copyOfRange(slot, position, position + AddressKey.LENGTH)).getHex();
+        } catch (Exception e) {
+            // Only thrown for a wrong length
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int put(int position, byte[] bytes) {
+        System.arraycopy(bytes, 0, slot, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    private int putLong(int position, long value) {
+        for (int i = 7; i >= 0; i--) {
+            slot[position + i] = (byte) value;
+            value >>>= 8;
+        }
+        return position + 8;
+    }
+
+    private int putInt(int position, int value) {
+        for (int i = 3; i >= 0; i--) {
+            slot[position + i] = (byte) value;
+            value >>>= 8;
+        }
+        return position + 4;
+    }
+
+    private long getLong(int position) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (slot[position + i] & 0xff);
+        }
+        return value;
+    }
+
+    private int getInt(int position) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (slot[position + i] & 0xff);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,124 @@
+package com.reactnativegeth;
+
+import android.util.Base64;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Header;
+
+import java.util.Locale;
+
+/**
+ * Turns headers into bridge maps, limited to a projection of the header fields
+ * and with a configurable encoding for the byte fields (extra and bloom).
+ * Only the projected fields are read from the header, so unused fields never cross JNI.
+ */
+final class HeaderSerializer {
+    enum ByteEncoding {
+        // extra as an array of signed bytes and bloom as hex, the original GethNewHead format
+        ARRAY,
+        HEX,
+        BASE64
+    }
+
+    static final String[] FIELDS = {
+            "parentHash", "coinbase", "root", "TxHash", "receiptHash", "bloom",
+            "number", "gasUsed", "time", "hash", "extra"
+    };
+    private static final int PARENT_HASH = 1;
+    private static final int COINBASE = 1 << 1;
+    private static final int ROOT = 1 << 2;
+    private static final int TX_HASH = 1 << 3;
+    private static final int RECEIPT_HASH = 1 << 4;
+    private static final int BLOOM = 1 << 5;
+    private static final int NUMBER = 1 << 6;
+    private static final int GAS_USED = 1 << 7;
+    private static final int TIME = 1 << 8;
+    private static final int HASH = 1 << 9;
+    private static final int EXTRA = 1 << 10;
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+
+    static final HeaderSerializer FULL = new HeaderSerializer(ALL_FIELDS, ByteEncoding.ARRAY);
+
+    private final int fields;
+    private final ByteEncoding encoding;
+
+    private HeaderSerializer(int fields, ByteEncoding encoding) {
+        this.fields = fields;
+        this.encoding = encoding;
+    }
+
+    /**
+     * @param fields   names of the fields to serialize, or null for all of them
+     * @param encoding "array", "hex" or "base64", or null for "array"
+     * @throws IllegalArgumentException on unknown fields or encodings
+     * @return the serializer
+     */
+    static HeaderSerializer create(ReadableArray fields, String encoding) {
+        int mask = ALL_FIELDS;
+        if (fields != null) {
+            mask = 0;
+            for (int i = 0; i < fields.size(); i++) {
+                mask |= fieldBit(fields.getString(i));
+            }
+        }
+        ByteEncoding byteEncoding = encoding == null
+                ? ByteEncoding.ARRAY
+                : ByteEncoding.valueOf(encoding.toUpperCase(Locale.US));
+        if (mask == ALL_FIELDS && byteEncoding == ByteEncoding.ARRAY) return FULL;
+        return new HeaderSerializer(mask, byteEncoding);
+    }
+
+    private static int fieldBit(String field) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(field)) return 1 << i;
+        }
+        throw new IllegalArgumentException("Unknown header field: " + field);
+    }
+
+    WritableMap toMap(Header header) {
+        WritableMap headerMap = new WritableNativeMap();
+        if (has(PARENT_HASH)) headerMap.putString("parentHash", header.getParentHash().getHex());
+        if (has(COINBASE)) headerMap.putString("coinbase", header.getCoinbase().getHex());
+        if (has(ROOT)) headerMap.putString("root", header.getRoot().getHex());
+        if (has(TX_HASH)) headerMap.putString("TxHash", header.getTxHash().getHex());
+        if (has(RECEIPT_HASH)) headerMap.putString("receiptHash", header.getReceiptHash().getHex());
+        if (has(BLOOM)) {
+            if (encoding == ByteEncoding.BASE64) {
+                headerMap.putString("bloom", Base64.encodeToString(header.getBloom().getBytes(), Base64.NO_WRAP));
+            } else {
+                headerMap.putString("bloom", header.getBloom().getHex());
+            }
+        }
+        if (has(NUMBER)) headerMap.putDouble("number", (double) header.getNumber());
+        if (has(GAS_USED)) headerMap.putDouble("gasUsed", (double) header.getGasUsed());
+        if (has(TIME)) headerMap.putDouble("time", (double) header.getTime());
+        if (has(HASH)) headerMap.putString("hash", header.getHash().getHex());
+        if (has(EXTRA)) {
+            byte[] extra = header.getExtra();
+            switch (encoding) {
+                case HEX:
+                    headerMap.putString("extra", Hex.encode(extra));
+                    break;
+                case BASE64:
+                    headerMap.putString("extra", Base64.encodeToString(extra, Base64.NO_WRAP));
+                    break;
+                default:
+                    WritableArray extraArray = new WritableNativeArray();
+                    for (byte extraByte : extra) {
+                        extraArray.pushInt(extraByte);
+                    }
+                    headerMap.putArray("extra", extraArray);
+            }
+        }
+        return headerMap;
+    }
+
+    private boolean has(int field) {
+        return (fields & field) != 0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.reactnativegeth;
+
+/**
+ * Minimal hex helpers so address and byte field handling can stay in Java
+ * instead of going through the geth bindings.
+ */
+final class Hex {
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private Hex() {
+    }
+
+    /**
+     * Decodes a hex string, with or without a leading 0x.
+     *
+     * @param hex the hex string
+     * @throws IllegalArgumentException if the string is not valid hex
+     * @return the decoded bytes
+     */
+    static byte[] decode(String hex) {
+        if (hex == null) {
+            throw new IllegalArgumentException("Hex string is null");
+        }
+        int start = hasPrefix(hex) ? 2 : 0;
+        int length = hex.length() - start;
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException("Hex string has an odd length");
+        }
+        byte[] out = new byte[length / 2];
+        for (int i = 0; i < out.length; i++) {
+            int hi = digit(hex.charAt(start + 2 * i));
+            int lo = digit(hex.charAt(start + 2 * i + 1));
+            out[i] = (byte) ((hi << 4) | lo);
+        }
+        return out;
+    }
+
+    /**
+     * Encodes bytes as a lowercase, 0x prefixed hex string.
+     *
+     * @param bytes the bytes to encode
+     * @return the hex string
+     */
+    static String encode(byte[] bytes) {
+        char[] out = new char[2 + bytes.length * 2];
+        out[0] = '0';
+        out[1] = 'x';
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            out[2 + 2 * i] = DIGITS[v >>> 4];
+            out[3 + 2 * i] = DIGITS[v & 0x0f];
+        }
+        return new String(out);
+    }
+
+    static boolean hasPrefix(String hex) {
+        return hex.length() >= 2 && hex.charAt(0) == '0'
+                && (hex.charAt(1) == 'x' || hex.charAt(1) == 'X');
+    }
+
+    // ASCII only, Character.digit would also take other scripts' digits like fullwidth ones
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        throw new IllegalArgumentException("Invalid hex character: " + c);
+    }
+}
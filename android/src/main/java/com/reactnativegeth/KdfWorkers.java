@@ -0,0 +1,58 @@
+package com.reactnativegeth;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CPU bound key store operations, like unlocking with scrypt or
+ * decrypting, in parallel on one thread per core. The pool is capped because
+ * every scrypt run holds 128 * N * r bytes, 256 MB with the standard parameters.
+ */
+class KdfWorkers {
+    private static final int MAX_THREADS = 4;
+
+    private final ExecutorService executor;
+
+    KdfWorkers() {
+        int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS));
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethKdf-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Runs the tasks in parallel and waits for all of them.
+     *
+     * @param tasks the tasks
+     * @throws InterruptedException - if interrupted while waiting
+     * @return the completed futures, in the order of the tasks
+     */
+    <T> List<Future<T>> invokeAll(List<Callable<T>> tasks) throws InterruptedException {
+        return executor.invokeAll(tasks);
+    }
+
+    /**
+     * Runs a task in the background.
+     *
+     * @param task the task
+     */
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
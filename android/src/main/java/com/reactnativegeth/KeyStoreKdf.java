@@ -0,0 +1,232 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Account;
+import org.ethereum.geth.Geth;
+import org.ethereum.geth.KeyStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tunes the scrypt parameters keys are encrypted with.
+ *
+ * Calibration encrypts throwaway keys with a growing N at a given P and times
+ * unlocking them, to find the largest N that still unlocks within a target
+ * latency on this device; P isn't searched. Migration re-encrypts existing keys with the
+ * parameters of the current key store, which geth does when a key's
+ * passphrase is updated, so each key is updated to its own passphrase.
+ */
+class KeyStoreKdf {
+    private static final String TAG = "RNGeth";
+    static final String MIGRATION_EVENT = "GethKeyStoreMigration";
+    static final long DEFAULT_TARGET_MS = 1000;
+    private static final long MIN_SCRYPT_N = Geth.LightScryptN;
+    private static final String CALIBRATION_PASSPHRASE = "calibration";
+
+    private final GethHolder gethHolder;
+    private final KdfWorkers kdfWorkers;
+    private final SharedSecretCache sharedSecretCache;
+    private final EventEmitter emitter;
+    private boolean migrating;
+
+    KeyStoreKdf(GethHolder gethHolder, KdfWorkers kdfWorkers, SharedSecretCache sharedSecretCache,
+                EventEmitter emitter) {
+        this.gethHolder = gethHolder;
+        this.kdfWorkers = kdfWorkers;
+        this.sharedSecretCache = sharedSecretCache;
+        this.emitter = emitter;
+    }
+
+    /**
+     * Checks scrypt parameters before a key store is built with them,
+     * since geth only fails once a key is encrypted.
+     *
+     * @param scryptN the CPU and memory cost, a power of two greater than 1
+     * @param scryptP the parallelization, at least 1
+     */
+    static void validate(long scryptN, long scryptP) {
+        if (scryptN <= 1 || (scryptN & (scryptN - 1)) != 0) {
+            throw new IllegalArgumentException("keyStoreScryptN must be a power of two greater than 1");
+        }
+        if (scryptP < 1) {
+            throw new IllegalArgumentException("keyStoreScryptP must be at least 1");
+        }
+    }
+
+    /**
+     * Finds the largest N, from LightScryptN up to maxN, whose unlock time
+     * stays within the target. The cost of scrypt is linear in N, so N isn't
+     * doubled once the unlock time is more than half the target; this spares
+     * running the most expensive, and most memory hungry, step.
+     *
+     * @param workDir  a directory for the throwaway keys, deleted afterwards
+     * @param targetMs the longest acceptable unlock time
+     * @param scryptP  the parallelization to calibrate N for
+     * @param maxN     the largest N to try
+     * @throws Exception - if a throwaway key can't be created or unlocked
+     * @return {scryptN, scryptP, unlockMs, meetsTarget, samples: [{scryptN, unlockMs}]}
+     */
+    WritableMap calibrateN(File workDir, long targetMs, long scryptP, long maxN) throws Exception {
+        if (targetMs <= 0) {
+            throw new IllegalArgumentException("targetMs must be positive");
+        }
+        validate(maxN, scryptP);
+        if (maxN < MIN_SCRYPT_N) {
+            throw new IllegalArgumentException("maxN must be at least " + MIN_SCRYPT_N);
+        }
+        WritableArray samples = new WritableNativeArray();
+        long bestN = MIN_SCRYPT_N;
+        double bestMs = -1;
+        try {
+            for (long n = MIN_SCRYPT_N; n <= maxN; n <<= 1) {
+                double unlockMs = timeUnlock(new File(workDir, String.valueOf(n)), n, scryptP);
+                WritableMap sample = new WritableNativeMap();
+                sample.putDouble("scryptN", n);
+                sample.putDouble("unlockMs", unlockMs);
+                samples.pushMap(sample);
+                if (unlockMs > targetMs) {
+                    if (bestMs < 0) bestMs = unlockMs;
+                    break;
+                }
+                bestN = n;
+                bestMs = unlockMs;
+                if (unlockMs * 2 > targetMs) break;
+            }
+        } finally {
+            delete(workDir);
+        }
+        WritableMap result = new WritableNativeMap();
+        result.putDouble("scryptN", bestN);
+        result.putDouble("scryptP", scryptP);
+        result.putDouble("unlockMs", bestMs);
+        result.putBoolean("meetsTarget", bestMs <= targetMs);
+        result.putArray("samples", samples);
+        return result;
+    }
+
+    private static double timeUnlock(File dir, long scryptN, long scryptP) throws Exception {
+        KeyStore keyStore = new KeyStore(dir.getPath(), scryptN, scryptP);
+        Account account = keyStore.newAccount(CALIBRATION_PASSPHRASE);
+        long startedAt = System.nanoTime();
+        keyStore.unlock(account, CALIBRATION_PASSPHRASE);
+        double unlockMs = (System.nanoTime() - startedAt) / 1e6;
+        keyStore.lock(account.getAddress());
+        return unlockMs;
+    }
+
+    private static void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Could not delete " + file);
+        }
+    }
+
+    /**
+     * Starts re-encrypting keys with the parameters of the current key store,
+     * in the background on the KDF workers. Each key reports a GethKeyStoreMigration
+     * event {address, migrated, error, completed, total, done}.
+     *
+     * @param accounts [{address, passphrase}]
+     * @throws IllegalArgumentException - if an item lacks its address or passphrase
+     * @throws IllegalStateException - if the key store isn't configured or a migration is already running
+     */
+    void migrate(ReadableArray accounts) {
+        final KeyStore keyStore = gethHolder.getKeyStore();
+        if (keyStore == null) {
+            throw new IllegalStateException("The key store isn't configured, call setConfig first");
+        }
+        final int total = accounts.size();
+        // Parsed up front, so a bad item fails the call before anything is started
+        String[] addresses = new String[total];
+        String[] passphrases = new String[total];
+        for (int i = 0; i < total; i++) {
+            ReadableMap item = accounts.getMap(i);
+            if (item != null && item.hasKey("address") && item.hasKey("passphrase")) {
+                addresses[i] = item.getString("address");
+                passphrases[i] = item.getString("passphrase");
+            }
+            if (addresses[i] == null || passphrases[i] == null) {
+                throw new IllegalArgumentException("Item " + i + " needs an address and a passphrase");
+            }
+        }
+        synchronized (this) {
+            if (migrating) {
+                throw new IllegalStateException("A key store migration is already running");
+            }
+            migrating = total > 0;
+        }
+        final AtomicInteger completed = new AtomicInteger();
+        // Scheduled keys still running, plus one while scheduling; the migration ends at 0
+        final AtomicInteger outstanding = new AtomicInteger(1);
+        try {
+            for (int i = 0; i < total; i++) {
+                outstanding.incrementAndGet();
+                try {
+                    schedule(keyStore, addresses[i], passphrases[i], completed, outstanding, total);
+                } catch (RuntimeException e) {
+                    outstanding.decrementAndGet();
+                    throw e;
+                }
+            }
+        } finally {
+            // Keys scheduled before a failure still run and report, the migration lasts until they're done
+            finishOne(outstanding);
+        }
+    }
+
+    private void finishOne(AtomicInteger outstanding) {
+        if (outstanding.decrementAndGet() == 0) {
+            synchronized (this) {
+                migrating = false;
+            }
+        }
+    }
+
+    private void schedule(final KeyStore keyStore, final String address, final String passphrase,
+                          final AtomicInteger completed, final AtomicInteger outstanding, final int total) {
+        kdfWorkers.execute(new Runnable() {
+            @Override
+            public void run() {
+                String error = null;
+                try {
+                    Account account = gethHolder.findAccount(address);
+                    keyStore.updateAccount(account, passphrase, passphrase);
+                    gethHolder.indexAccount(account);
+                    sharedSecretCache.evict(AddressKey.of(account.getAddress()));
+                } catch (Exception e) {
+                    Log.w(TAG, "Failed migrating key " + address + ": " + e.getMessage());
+                    error = String.valueOf(e.getMessage());
+                }
+                int done = completed.incrementAndGet();
+                WritableMap event = new WritableNativeMap();
+                event.putString("address", address);
+                event.putBoolean("migrated", error == null);
+                if (error == null) {
+                    event.putNull("error");
+                } else {
+                    event.putString("error", error);
+                }
+                event.putInt("completed", done);
+                event.putInt("total", total);
+                event.putBoolean("done", done == total);
+                emitter.emit(MIGRATION_EVENT, event);
+                finishOne(outstanding);
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.reactnativegeth;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies with logarithmic buckets, recording allocates nothing.
+ * Latencies are counted in microseconds, exactly below 8 microseconds and in 8
+ * buckets per power of two above, so percentiles are accurate to within 12.5%.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Latencies from 2^36 microseconds (about 19 hours) on share the last bucket
+    private static final int MAX_EXPONENT = 36;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        buckets.incrementAndGet(bucketOf(micros));
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @param bucket the bucket index
+     * @return the lowest latency counted in the bucket, in microseconds
+     */
+    static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Copies the bucket counts, so several percentiles can be read from one consistent view.
+     *
+     * @return the count of each bucket
+     */
+    long[] snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * @param counts   a snapshot of the buckets
+     * @param quantile between 0 and 1
+     * @param max      the largest latency recorded, which bounds the estimate
+     * @return the upper bound of the bucket holding the quantile, in microseconds, 0 if empty
+     */
+    static long percentile(long[] counts, double quantile, long max) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : max;
+                return Math.min(upper, max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,259 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Header;
+import org.ethereum.geth.NewHeadHandler;
+import org.ethereum.geth.Subscription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the new head subscription of the node. Every header goes to the native
+ * {@link HeadListener}s first, then to JS according to the current
+ * {@link HeadDeliveryOptions}. In the rate limited modes headers are coalesced
+ * here, and bridge maps are only built for the headers actually emitted.
+ * Every header is also recorded in the {@link HeaderRing}. A header repeating
+ * the previous one of the same subscription goes nowhere, while the first
+ * header of a subscription is always delivered, even when the ring already
+ * holds it from before a restart.
+ */
+class NewHeadDispatcher implements NewHeadHandler {
+    private static final String TAG = "RNGeth";
+    static final String NEW_HEAD_EVENT = "GethNewHead";
+    static final String NEW_HEADS_EVENT = "GethNewHeads";
+    static final String RELEVANT_HEAD_EVENT = "GethRelevantHead";
+    // Headers buffered by the geth subscription before it starts blocking
+    private static final long SUBSCRIPTION_BUFFER_SIZE = 16;
+
+    private final EventEmitter emitter;
+    private final HeaderRing history;
+    private final BloomWatchList watchList;
+    private final List<HeadListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private Subscription subscription;
+    // null while JS isn't subscribed
+    private volatile HeadDeliveryOptions delivery;
+    private volatile long latestNumber = -1;
+    // Hash of the previous header of the current subscription, guarded by this
+    private byte[] latestHash;
+
+    // Coalescing state, guarded by this
+    private Header latest;
+    private final ArrayDeque<Header> batch = new ArrayDeque<>();
+    private long lastEmitNanos;
+    private boolean flushScheduled;
+    private long droppedHeaders;
+
+    NewHeadDispatcher(EventEmitter emitter, HeaderRing history, BloomWatchList watchList) {
+        this.emitter = emitter;
+        this.history = history;
+        this.watchList = watchList;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethNewHead");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    void addListener(HeadListener listener) {
+        listeners.add(listener);
+    }
+
+    void removeListener(HeadListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Subscribes to new heads of the given client, unless already subscribed.
+     *
+     * @param client the client of the running node
+     * @throws Exception - if the subscription fails
+     */
+    synchronized void subscribe(EthereumClient client) throws Exception {
+        if (subscription != null) return;
+        Log.i(TAG, "Subscribing to new head");
+        latestHash = null;
+        subscription = client.subscribeNewHead(new Context(), this, SUBSCRIPTION_BUFFER_SIZE);
+    }
+
+    synchronized void unsubscribe() {
+        if (subscription == null) return;
+        subscription.unsubscribe();
+        subscription = null;
+        latestNumber = -1;
+        latestHash = null;
+        // Headers still coalescing belong to the node unsubscribed from
+        latest = null;
+        batch.clear();
+    }
+
+    synchronized boolean isSubscribed() {
+        return subscription != null;
+    }
+
+    /**
+     * Sets how headers are delivered to JS.
+     *
+     * @param options the delivery options, or null to stop delivering to JS
+     */
+    void setDelivery(HeadDeliveryOptions options) {
+        synchronized (this) {
+            latest = null;
+            batch.clear();
+        }
+        delivery = options;
+    }
+
+    /**
+     * @return the number of the latest header received, or -1 if none since subscribing
+     */
+    long getLatestNumber() {
+        return latestNumber;
+    }
+
+    /**
+     * @return how many headers were dropped because a batch was full
+     */
+    synchronized long getDroppedHeaders() {
+        return droppedHeaders;
+    }
+
+    void shutdown() {
+        unsubscribe();
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void onError(String error) {
+        Log.e(TAG, "Error emitting new head event: " + error);
+        // The geth side gives up on the subscription after reporting an error
+        synchronized (this) {
+            subscription = null;
+        }
+    }
+
+    private synchronized boolean isRepeat(Header header) {
+        byte[] hash = header.getHash().getBytes();
+        if (header.getNumber() == latestNumber && Arrays.equals(hash, latestHash)) return true;
+        latestHash = hash;
+        return false;
+    }
+
+    @Override
+    public void onNewHead(final Header header) {
+        if (isRepeat(header)) return;
+        latestNumber = header.getNumber();
+        history.record(header);
+        for (HeadListener listener : listeners) {
+            try {
+                listener.onHead(header);
+            } catch (Exception e) {
+                Log.e(TAG, "New head listener failed", e);
+            }
+        }
+
+        HeadDeliveryOptions options = delivery;
+        if (options == null) return;
+        if (options.mode == HeadDeliveryOptions.Mode.RELEVANT) {
+            emitIfRelevant(header, options);
+            return;
+        }
+        if (options.mode == HeadDeliveryOptions.Mode.EVERY
+                || (options.mode == HeadDeliveryOptions.Mode.LATEST && options.minIntervalNanos == 0)) {
+            emitter.emit(NEW_HEAD_EVENT, options.serializer.toMap(header));
+            return;
+        }
+
+        boolean flushNow = false;
+        synchronized (this) {
+            if (options.mode == HeadDeliveryOptions.Mode.BATCH) {
+                if (batch.size() >= options.maxBatchSize) {
+                    batch.removeFirst();
+                    droppedHeaders++;
+                }
+                batch.add(header);
+            } else {
+                latest = header;
+            }
+            if (!flushScheduled) {
+                long wait = lastEmitNanos + options.minIntervalNanos - System.nanoTime();
+                if (wait <= 0) {
+                    flushNow = true;
+                } else {
+                    flushScheduled = true;
+                    scheduler.schedule(flushTask, wait, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (flushNow) flush();
+    }
+
+    /**
+     * Emits a header as a GethRelevantHead event {header, watches} if its bloom
+     * may match a watch. Only the bloom crosses JNI for the other headers.
+     */
+    private void emitIfRelevant(Header header, HeadDeliveryOptions options) {
+        WritableArray matched = watchList.match(header.getBloom().getBytes());
+        if (matched == null) return;
+        WritableMap event = new WritableNativeMap();
+        event.putMap("header", options.serializer.toMap(header));
+        event.putArray("watches", matched);
+        emitter.emit(RELEVANT_HEAD_EVENT, event);
+    }
+
+    /**
+     * Emits whatever was coalesced since the previous emit.
+     */
+    private void flush() {
+        HeadDeliveryOptions options = delivery;
+        Header single;
+        List<Header> headers = null;
+        synchronized (this) {
+            flushScheduled = false;
+            lastEmitNanos = System.nanoTime();
+            single = latest;
+            latest = null;
+            if (!batch.isEmpty()) {
+                headers = new ArrayList<>(batch);
+                batch.clear();
+            }
+        }
+        if (options == null) return;
+        if (single != null) {
+            emitter.emit(NEW_HEAD_EVENT, options.serializer.toMap(single));
+        }
+        if (headers != null) {
+            WritableArray headerArray = new WritableNativeArray();
+            for (Header header : headers) {
+                headerArray.pushMap(options.serializer.toMap(header));
+            }
+            emitter.emit(NEW_HEADS_EVENT, headerArray);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Header;
+import org.ethereum.geth.Node;
+
+import com.reactnativegeth.GethHolder.NodeInstance;
+import com.reactnativegeth.GethHolder.NodeState;
+
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts and stops the node off the bridge thread and reports its progress.
+ *
+ * States move CONFIGURED / STOPPED / FAILED -> STARTING -> STARTED or FAILED,
+ * and STARTED -> STOPPING -> STOPPED. Every transition and every startup phase
+ * is emitted as a GethNodeLifecycle event, with the time elapsed since
+ * startNode was called: nodeOpen (the node, its P2P server and services are
+ * running), firstPeer and firstHeader.
+ *
+ * Standby instances go through the same states, reported with their name,
+ * but only the active instance is watched for startup phases and subscribed
+ * to new heads. Switching the active instance runs on the same thread as
+ * starts and stops, so a node can't stop while it's being switched to.
+ */
+class NodeLifecycle {
+    private static final String TAG = "RNGeth";
+    static final String LIFECYCLE_EVENT = "GethNodeLifecycle";
+    static final String ACTIVE_NODE_EVENT = "GethActiveNodeChanged";
+    private static final long PEER_POLL_INTERVAL_MS = 250;
+    // Stop waiting for a first peer after this, e.g. when networking is disabled
+    private static final long FIRST_PEER_TIMEOUT_MS = 10 * 60 * 1000;
+
+    private final GethHolder gethHolder;
+    private final NewHeadDispatcher headDispatcher;
+    private final EventEmitter emitter;
+    // Runs every start and stop, one at a time
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> peerPoll;
+    private HeadListener firstHeaderListener;
+
+    NodeLifecycle(GethHolder gethHolder, NewHeadDispatcher headDispatcher, EventEmitter emitter) {
+        this.gethHolder = gethHolder;
+        this.headDispatcher = headDispatcher;
+        this.emitter = emitter;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethLifecycle");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Starts the active node in the background.
+     *
+     * @return true if the node is now starting, false if it was already starting or running
+     */
+    boolean start() {
+        return start(gethHolder.getActiveInstance());
+    }
+
+    /**
+     * Starts the node of an instance in the background.
+     *
+     * @param instance the instance, active or standby
+     * @return true if the node is now starting, false if it was already starting or running
+     */
+    boolean start(final NodeInstance instance) {
+        NodeState state = instance.getState();
+        if (state != NodeState.CONFIGURED && state != NodeState.STOPPED && state != NodeState.FAILED) {
+            return false;
+        }
+        if (!instance.compareAndSetState(state, NodeState.STARTING)) {
+            return false;
+        }
+        final long startedAt = System.nanoTime();
+        emitState(instance, NodeState.STARTING, startedAt, null);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                doStart(instance, startedAt);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Stops the active node in the background, after any start in progress.
+     *
+     * @param promise resolved with true if a node was stopped, false if none was running
+     */
+    void stop(final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                doStop(gethHolder.getActiveInstance(), promise);
+            }
+        });
+    }
+
+    /**
+     * Stops the node of a standby instance in the background, after any start in progress.
+     *
+     * @param instance the instance, which must not be the active one by then
+     * @param promise  resolved with true if a node was stopped, false if none was running
+     */
+    void stopStandby(final NodeInstance instance, final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (instance == gethHolder.getActiveInstance()) {
+                    promise.reject(RNGethModule.STOP_NODE_ERROR, "The " + instance.name + " node is the active one");
+                    return;
+                }
+                doStop(instance, promise);
+            }
+        });
+    }
+
+    /**
+     * Makes a started instance the active one, after any start or stop in progress.
+     * The new head subscription moves to its node; the previously active node
+     * keeps running as a standby.
+     *
+     * @param instance   the instance to switch to
+     * @param onSwitched run once queries go to the new instance, before its heads arrive
+     * @param promise    resolved with true if switched, false if the instance was already active
+     */
+    void switchTo(final NodeInstance instance, final Runnable onSwitched, final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                NodeInstance previous = gethHolder.getActiveInstance();
+                if (instance == previous) {
+                    promise.resolve(false);
+                    return;
+                }
+                if (instance.getState() != NodeState.STARTED) {
+                    promise.reject(RNGethModule.SWITCH_NODE_ERROR, "The " + instance.name + " node isn't started");
+                    return;
+                }
+                Log.i(TAG, "Switching from the " + previous.name + " node to the " + instance.name + " node");
+                stopWatchingStartup();
+                headDispatcher.unsubscribe();
+                gethHolder.setActiveInstance(instance);
+                onSwitched.run();
+                try {
+                    headDispatcher.subscribe(instance.getNode().getEthereumClient());
+                } catch (Exception e) {
+                    Log.w(TAG, "Failed subscribing to new heads: " + e.getMessage());
+                }
+                WritableMap event = new WritableNativeMap();
+                event.putString("instance", instance.name);
+                event.putString("previous", previous.name);
+                emitter.emit(ACTIVE_NODE_EVENT, event);
+                promise.resolve(true);
+            }
+        });
+    }
+
+    private void doStop(NodeInstance instance, Promise promise) {
+        if (!instance.compareAndSetState(NodeState.STARTED, NodeState.STOPPING)) {
+            promise.resolve(false);
+            return;
+        }
+        long stoppedAt = System.nanoTime();
+        emitState(instance, NodeState.STOPPING, stoppedAt, null);
+        if (instance == gethHolder.getActiveInstance()) {
+            stopWatchingStartup();
+            headDispatcher.unsubscribe();
+        }
+        try {
+            Log.i(TAG, "Stopping the " + instance.name + " node");
+            instance.getNode().close();
+            instance.setState(NodeState.STOPPED);
+            emitState(instance, NodeState.STOPPED, stoppedAt, null);
+            promise.resolve(true);
+        } catch (Exception e) {
+            instance.setState(NodeState.FAILED);
+            emitState(instance, NodeState.FAILED, stoppedAt, e.getMessage());
+            promise.reject(RNGethModule.STOP_NODE_ERROR, e);
+        }
+    }
+
+    void shutdown() {
+        stopWatchingStartup();
+        executor.shutdown();
+    }
+
+    private void doStart(NodeInstance instance, final long startedAt) {
+        boolean active = instance == gethHolder.getActiveInstance();
+        try {
+            Log.i(TAG, "Starting the " + instance.name + " node");
+            Node node = instance.getNode();
+            node.start();
+            if (active) emitPhase(instance, "nodeOpen", startedAt);
+
+            instance.setState(NodeState.STARTED);
+            emitState(instance, NodeState.STARTED, startedAt, null);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed starting the " + instance.name + " node", e);
+            instance.setState(NodeState.FAILED);
+            emitState(instance, NodeState.FAILED, startedAt, e.getMessage());
+            return;
+        }
+        if (!active) return;
+        watchFirstHeader(instance, startedAt);
+        watchFirstPeer(instance, startedAt);
+    }
+
+    private void watchFirstHeader(final NodeInstance instance, final long startedAt) {
+        final AtomicBoolean seen = new AtomicBoolean();
+        HeadListener listener = new HeadListener() {
+            @Override
+            public void onHead(Header header) {
+                if (seen.compareAndSet(false, true)) {
+                    emitPhase(instance, "firstHeader", startedAt);
+                    headDispatcher.removeListener(this);
+                }
+            }
+        };
+        synchronized (this) {
+            firstHeaderListener = listener;
+        }
+        headDispatcher.addListener(listener);
+        try {
+            // Also keeps the head driven caches current while JS isn't subscribed
+            headDispatcher.subscribe(instance.getNode().getEthereumClient());
+        } catch (Exception e) {
+            Log.w(TAG, "Failed subscribing to new heads: " + e.getMessage());
+        }
+    }
+
+    private void watchFirstPeer(final NodeInstance instance, final long startedAt) {
+        Runnable poll = new Runnable() {
+            @Override
+            public void run() {
+                boolean done;
+                try {
+                    done = instance.getNode().getPeerInfos().size() > 0;
+                    if (done) emitPhase(instance, "firstPeer", startedAt);
+                } catch (Exception e) {
+                    done = true;
+                }
+                if (done || System.nanoTime() - startedAt > TimeUnit.MILLISECONDS.toNanos(FIRST_PEER_TIMEOUT_MS)) {
+                    synchronized (NodeLifecycle.this) {
+                        if (peerPoll != null) {
+                            peerPoll.cancel(false);
+                            peerPoll = null;
+                        }
+                    }
+                }
+            }
+        };
+        synchronized (this) {
+            peerPoll = executor.scheduleWithFixedDelay(poll, 0, PEER_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void stopWatchingStartup() {
+        if (peerPoll != null) {
+            peerPoll.cancel(false);
+            peerPoll = null;
+        }
+        if (firstHeaderListener != null) {
+            headDispatcher.removeListener(firstHeaderListener);
+            firstHeaderListener = null;
+        }
+    }
+
+    private void emitState(NodeInstance instance, NodeState state, long since, String error) {
+        WritableMap event = new WritableNativeMap();
+        event.putString("instance", instance.name);
+        event.putString("state", state.name().toLowerCase(Locale.US));
+        event.putNull("phase");
+        event.putDouble("elapsedMs", elapsedMs(since));
+        if (error != null) {
+            event.putString("error", error);
+        } else {
+            event.putNull("error");
+        }
+        emitter.emit(LIFECYCLE_EVENT, event);
+    }
+
+    private void emitPhase(NodeInstance instance, String phase, long startedAt) {
+        double elapsed = elapsedMs(startedAt);
+        Log.i(TAG, "Node startup phase " + phase + " after " + elapsed + " ms");
+        WritableMap event = new WritableNativeMap();
+        event.putString("instance", instance.name);
+        event.putString("state", instance.getState().name().toLowerCase(Locale.US));
+        event.putString("phase", phase);
+        event.putDouble("elapsedMs", elapsed);
+        event.putNull("error");
+        emitter.emit(LIFECYCLE_EVENT, event);
+    }
+
+    private static double elapsedMs(long since) {
+        return (System.nanoTime() - since) / 1e6;
+    }
+}
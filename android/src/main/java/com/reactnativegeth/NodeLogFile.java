@@ -0,0 +1,265 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Geth;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The file the node logs to, rotated by size and read back incrementally.
+ *
+ * Once the file grows past the size limit it's renamed to file.1 (shifting
+ * older segments to file.2 and so on, dropping the oldest) and geth is
+ * pointed at a fresh file. Reads memory-map the segments and return the
+ * complete lines written since a cursor, filtering them by level and
+ * substring on the raw bytes so only matching lines become strings.
+ *
+ * A cursor is "generation:offset", where the generation counts the rotations
+ * since the module was created; it's only valid until the module is reloaded.
+ */
+class NodeLogFile {
+    private static final String TAG = "RNGeth";
+    private static final String LOG_FORMAT = "term";
+    private static final long ROTATION_CHECK_INTERVAL_MS = 10 * 1000;
+    static final int DEFAULT_MAX_SEGMENTS = 3;
+    static final int DEFAULT_READ_BYTES = 256 * 1024;
+    // Geth's levels by the first letters of a terminal formatted line, from crit (0) to trace (5)
+    private static final String[] LEVELS = {"CRIT", "ERROR", "WARN", "INFO", "DEBUG", "TRACE"};
+
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> rotationCheck;
+    private File file;
+    private long logLevel;
+    private long maxBytes;
+    private int maxSegments = DEFAULT_MAX_SEGMENTS;
+    private long generation;
+
+    NodeLogFile() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethLog");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Sends the node logs to a file.
+     *
+     * @param path        the log file
+     * @param logLevel    the most verbose level logged, from 0 (crit) to 5 (trace)
+     * @param maxBytes    the size the file is rotated at, 0 to never rotate
+     * @param maxSegments files kept including the one written to, at least 2
+     * @throws Exception - if geth can't open the file
+     */
+    synchronized void configure(String path, long logLevel, long maxBytes, int maxSegments) throws Exception {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("logFileMaxBytes must not be negative");
+        }
+        if (maxSegments < 2) {
+            throw new IllegalArgumentException("logFileMaxSegments must be at least 2");
+        }
+        this.file = new File(path);
+        this.logLevel = logLevel;
+        this.maxBytes = maxBytes;
+        this.maxSegments = maxSegments;
+        Geth.sendLogsToFile(path, logLevel, LOG_FORMAT);
+        if (rotationCheck != null) {
+            rotationCheck.cancel(false);
+            rotationCheck = null;
+        }
+        if (maxBytes > 0) {
+            rotationCheck = scheduler.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        rotateIfNeeded();
+                    } catch (Exception e) {
+                        Log.w(TAG, "Failed rotating the log file: " + e.getMessage());
+                    }
+                }
+            }, ROTATION_CHECK_INTERVAL_MS, ROTATION_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    synchronized void rotateIfNeeded() throws Exception {
+        if (file == null || maxBytes == 0 || file.length() < maxBytes) return;
+        File oldest = segment(maxSegments - 1);
+        if (oldest.exists() && !oldest.delete()) {
+            throw new IOException("Could not delete " + oldest);
+        }
+        for (int i = maxSegments - 2; i >= 0; i--) {
+            File from = segment(i);
+            if (from.exists() && !from.renameTo(segment(i + 1))) {
+                throw new IOException("Could not rename " + from);
+            }
+        }
+        generation++;
+        // Geth keeps writing to the renamed file until it reopens the path
+        Geth.sendLogsToFile(file.getPath(), logLevel, LOG_FORMAT);
+    }
+
+    /**
+     * @param index 0 for the file written to, 1 for the newest rotated one and so on
+     */
+    private File segment(int index) {
+        return index == 0 ? file : new File(file.getPath() + "." + index);
+    }
+
+    /**
+     * Reads the complete lines written since a cursor, across rotations.
+     *
+     * @param cursor   where the previous read stopped, or null to start from the oldest segment
+     * @param level    the most verbose level returned, from 0 (crit) to 5 (trace), or -1 for all lines
+     * @param contains only return lines containing this, or null
+     * @param maxBytes how many bytes of the file to scan at most
+     * @throws IOException - if a segment can't be read
+     * @return {lines, cursor, more, missed}: more is true when lines are left to
+     * read, missed when the cursor pointed to a segment already dropped
+     */
+    synchronized WritableMap read(String cursor, int level, String contains, int maxBytes) throws IOException {
+        if (file == null) {
+            throw new IllegalStateException("The node doesn't log to a file, set logFile in the config");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        long oldestGeneration = Math.max(0, generation - (maxSegments - 1));
+        long readGeneration = oldestGeneration;
+        long offset = 0;
+        boolean missed = false;
+        if (cursor != null) {
+            int colon = cursor.indexOf(':');
+            long cursorGeneration = Long.parseLong(cursor.substring(0, colon));
+            long cursorOffset = Long.parseLong(cursor.substring(colon + 1));
+            if (cursorGeneration < oldestGeneration || cursorGeneration > generation) {
+                missed = true;
+            } else {
+                readGeneration = cursorGeneration;
+                offset = cursorOffset;
+            }
+        }
+        byte[] pattern = contains != null && !contains.isEmpty() ? contains.getBytes("UTF-8") : null;
+        WritableArray lines = new WritableNativeArray();
+        long budget = maxBytes;
+        boolean more = false;
+        while (true) {
+            File segment = segment((int) (generation - readGeneration));
+            long length = segment.exists() ? segment.length() : 0;
+            if (offset > length) {
+                // Truncated behind our back, start over
+                offset = 0;
+                missed = true;
+            }
+            long available = length - offset;
+            if (budget == 0) {
+                more = available > 0 || readGeneration < generation;
+                break;
+            }
+            long window = Math.min(available, budget);
+            long consumed = scan(segment, offset, window, level, pattern, lines);
+            offset += consumed;
+            budget -= consumed;
+            if (window < available) {
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("A log line is longer than maxBytes");
+                }
+                more = true;
+                break;
+            }
+            // A partial last line is left for the next read, unless geth has moved on to a newer segment
+            if (readGeneration == generation) break;
+            readGeneration++;
+            offset = 0;
+        }
+        WritableMap result = new WritableNativeMap();
+        result.putArray("lines", lines);
+        result.putString("cursor", readGeneration + ":" + offset);
+        result.putBoolean("more", more);
+        result.putBoolean("missed", missed);
+        return result;
+    }
+
+    /**
+     * Scans the complete lines of a range of a segment.
+     *
+     * @return the bytes consumed, up to the end of the last complete line
+     */
+    private static long scan(File segment, long offset, long length, int level, byte[] pattern,
+                             WritableArray lines) throws IOException {
+        if (length <= 0) return 0;
+        RandomAccessFile raf = new RandomAccessFile(segment, "r");
+        MappedByteBuffer buffer;
+        try {
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, offset, length);
+        } finally {
+            raf.close();
+        }
+        int end = (int) length;
+        int start = 0;
+        // Lines without a level, like stack traces, go with the line before them
+        boolean keepContinuation = false;
+        byte[] line = null;
+        while (start < end) {
+            int newline = start;
+            while (newline < end && buffer.get(newline) != '\n') newline++;
+            if (newline == end) break;
+            int lineLevel = levelOf(buffer, start, newline);
+            boolean keep = lineLevel < 0 ? keepContinuation : level < 0 || lineLevel <= level;
+            if (lineLevel >= 0) keepContinuation = keep;
+            if (keep && (pattern == null || contains(buffer, start, newline, pattern))) {
+                int size = newline - start;
+                if (line == null || line.length < size) line = new byte[Math.max(size, 256)];
+                for (int i = 0; i < size; i++) {
+                    line[i] = buffer.get(start + i);
+                }
+                lines.pushString(new String(line, 0, size, "UTF-8"));
+            }
+            start = newline + 1;
+        }
+        return start;
+    }
+
+    private static int levelOf(MappedByteBuffer buffer, int start, int end) {
+        for (int level = 0; level < LEVELS.length; level++) {
+            String name = LEVELS[level];
+            if (end - start < name.length()) continue;
+            boolean match = true;
+            for (int i = 0; i < name.length() && match; i++) {
+                match = buffer.get(start + i) == name.charAt(i);
+            }
+            if (match) return level;
+        }
+        return -1;
+    }
+
+    private static boolean contains(MappedByteBuffer buffer, int start, int end, byte[] pattern) {
+        for (int i = start; i <= end - pattern.length; i++) {
+            int j = 0;
+            while (j < pattern.length && buffer.get(i + j) == pattern[j]) j++;
+            if (j == pattern.length) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,190 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Header;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out transaction nonces locally, so several transactions of one address
+ * can be built back to back without asking the network each time.
+ * An address is seeded from the client's pending nonce on its first
+ * reservation, and reconciled against it again on every new head. A
+ * reservation that's neither seen used nor released within
+ * MAX_RESERVED_BLOCKS blocks is taken as abandoned and its nonce reused.
+ */
+class NonceManager implements HeadListener {
+    private static final String TAG = "RNGeth";
+    // Blocks a reservation is kept without being seen used, about ten minutes on Celo
+    static final long MAX_RESERVED_BLOCKS = 120;
+
+    private static final class State {
+        // Next nonce never handed out
+        long next;
+        // Handed out and not released, may still be broadcast; mapped to the head number
+        // when reserved, -1 until a head is known
+        final TreeMap<Long, Long> reserved = new TreeMap<>();
+        // Handed back below next, reused lowest first
+        final TreeSet<Long> released = new TreeSet<>();
+
+        State(long next) {
+            this.next = next;
+        }
+    }
+
+    private final GethHolder gethHolder;
+    private final ConcurrentHashMap<AddressKey, State> states = new ConcurrentHashMap<>();
+    private final ExecutorService reconcileExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RNGethNonce");
+            t.setDaemon(true);
+            return t;
+        }
+    });
+    private final AtomicBoolean reconcilePending = new AtomicBoolean();
+    private volatile long headNumber = -1;
+    private final Runnable reconcileTask = new Runnable() {
+        @Override
+        public void run() {
+            reconcilePending.set(false);
+            try {
+                reconcile(gethHolder.getNode().getEthereumClient());
+            } catch (Exception e) {
+                Log.w(TAG, "Failed reconciling nonces: " + e.getMessage());
+            }
+        }
+    };
+
+    NonceManager(GethHolder gethHolder) {
+        this.gethHolder = gethHolder;
+    }
+
+    @Override
+    public void onHead(Header header) {
+        headNumber = header.getNumber();
+        if (!states.isEmpty() && reconcilePending.compareAndSet(false, true)) {
+            reconcileExecutor.execute(reconcileTask);
+        }
+    }
+
+    /**
+     * Reserves the next nonce of an address.
+     *
+     * @param client  the client of the running node, only used the first time an address is seen
+     * @param address the address
+     * @throws Exception - if the pending nonce query fails
+     * @return the nonce
+     */
+    long reserve(EthereumClient client, AddressKey address) throws Exception {
+        State state = states.get(address);
+        if (state == null) {
+            long pending = client.getPendingNonceAt(new Context(), new Address(address.toHex()));
+            State created = new State(pending);
+            State existing = states.putIfAbsent(address, created);
+            state = existing != null ? existing : created;
+        }
+        synchronized (state) {
+            Long nonce = state.released.pollFirst();
+            if (nonce == null) {
+                nonce = state.next++;
+            }
+            state.reserved.put(nonce, headNumber);
+            return nonce;
+        }
+    }
+
+    /**
+     * Hands back a reserved nonce that won't be used, e.g. because signing or sending failed.
+     *
+     * @param address the address
+     * @param nonce   the nonce
+     * @return whether the nonce was reserved
+     */
+    boolean release(AddressKey address, long nonce) {
+        State state = states.get(address);
+        if (state == null) return false;
+        synchronized (state) {
+            if (state.reserved.remove(nonce) == null) return false;
+            state.released.add(nonce);
+            shrink(state);
+            return true;
+        }
+    }
+
+    /**
+     * Shrinks back rather than leaving gaps at the top.
+     */
+    private static void shrink(State state) {
+        while (!state.released.isEmpty() && state.released.last() == state.next - 1) {
+            state.released.pollLast();
+            state.next--;
+        }
+    }
+
+    /**
+     * Forgets an address, its next reservation asks the network again.
+     *
+     * @param address the address
+     */
+    void reset(AddressKey address) {
+        states.remove(address);
+    }
+
+    void clear() {
+        states.clear();
+    }
+
+    /**
+     * Moves every address to the client's pending nonce, dropping the
+     * reservations and released nonces the network has already seen used,
+     * and releasing reservations abandoned for too long. Once nothing is
+     * reserved, the next nonce also moves back to the pending one.
+     */
+    void reconcile(EthereumClient client) throws Exception {
+        long head = headNumber;
+        for (Map.Entry<AddressKey, State> entry : states.entrySet()) {
+            long pending = client.getPendingNonceAt(new Context(), new Address(entry.getKey().toHex()));
+            State state = entry.getValue();
+            synchronized (state) {
+                state.reserved.headMap(pending).clear();
+                state.released.headSet(pending).clear();
+                if (pending > state.next) {
+                    state.next = pending;
+                }
+                Iterator<Map.Entry<Long, Long>> reservations = state.reserved.entrySet().iterator();
+                while (reservations.hasNext()) {
+                    Map.Entry<Long, Long> reservation = reservations.next();
+                    if (reservation.getValue() < 0) {
+                        reservation.setValue(head);
+                    } else if (head - reservation.getValue() > MAX_RESERVED_BLOCKS) {
+                        reservations.remove();
+                        state.released.add(reservation.getKey());
+                    }
+                }
+                if (state.reserved.isEmpty()) {
+                    state.released.clear();
+                    state.next = pending;
+                } else {
+                    shrink(state);
+                }
+            }
+        }
+    }
+
+    void shutdown() {
+        reconcileExecutor.shutdownNow();
+    }
+}
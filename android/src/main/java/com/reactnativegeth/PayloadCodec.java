@@ -0,0 +1,70 @@
+package com.reactnativegeth;
+
+import android.util.Base64;
+
+/**
+ * How binary payloads of the crypto methods (keys, transactions, hashes,
+ * signatures, ciphertexts) are encoded as strings across the bridge.
+ *
+ * BASE64 keeps the line wrapped output the module always returned. The other
+ * encodings skip the line breaks, which the JS side has to strip or decode
+ * around, and HEX matches the 0x strings most of the ecosystem already holds,
+ * sparing a Buffer conversion on each side of the bridge.
+ */
+enum PayloadCodec {
+    BASE64 {
+        @Override
+        String encode(byte[] bytes) {
+            return Base64.encodeToString(bytes, Base64.DEFAULT);
+        }
+    },
+    BASE64_NO_WRAP {
+        @Override
+        String encode(byte[] bytes) {
+            return Base64.encodeToString(bytes, Base64.NO_WRAP);
+        }
+    },
+    HEX {
+        @Override
+        String encode(byte[] bytes) {
+            return Hex.encode(bytes);
+        }
+
+        @Override
+        byte[] decode(String payload) {
+            return Hex.decode(payload);
+        }
+    };
+
+    /**
+     * @param name "base64" | "base64NoWrap" | "hex"
+     * @throws IllegalArgumentException - for any other name
+     * @return the codec
+     */
+    static PayloadCodec fromName(String name) {
+        if ("base64".equals(name)) return BASE64;
+        if ("base64NoWrap".equals(name)) return BASE64_NO_WRAP;
+        if ("hex".equals(name)) return HEX;
+        throw new IllegalArgumentException("Unknown payload encoding: " + name);
+    }
+
+    /**
+     * Encodes a payload returned to JS.
+     *
+     * @param bytes the payload
+     * @return the encoded payload
+     */
+    abstract String encode(byte[] bytes);
+
+    /**
+     * Decodes a payload passed from JS. Base64 payloads may be wrapped or not,
+     * hex payloads may have a leading 0x or not.
+     *
+     * @param payload the encoded payload
+     * @throws IllegalArgumentException - if the payload isn't valid in this encoding
+     * @return the payload
+     */
+    byte[] decode(String payload) {
+        return Base64.decode(payload, Base64.DEFAULT);
+    }
+}
@@ -0,0 +1,211 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Node;
+import org.ethereum.geth.PeerInfo;
+import org.ethereum.geth.PeerInfos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a snapshot of the connected peers, keyed by peer ID. Only peers with a
+ * new ID have their details read from the node, known ones are reused.
+ * While started, it polls the node on an interval and emits GethPeerAdded and
+ * GethPeerRemoved with just the peers that changed, and getPeerInfos is
+ * answered from the snapshot without touching the node.
+ */
+class PeerWatcher {
+    private static final String TAG = "RNGeth";
+    static final String PEER_ADDED_EVENT = "GethPeerAdded";
+    static final String PEER_REMOVED_EVENT = "GethPeerRemoved";
+
+    /**
+     * The details of a peer, read once when it connects.
+     */
+    static final class Peer {
+        final String id;
+        final String name;
+        final String caps;
+        final String enode;
+        final String purposes;
+        final String localAddress;
+        final String remoteAddress;
+
+        Peer(PeerInfo peerInfo, String id) {
+            this.id = id;
+            this.name = peerInfo.getName();
+            this.caps = peerInfo.getCaps().toString();
+            this.enode = peerInfo.getEnode();
+            this.purposes = peerInfo.getPurposes();
+            this.localAddress = peerInfo.getLocalAddress();
+            this.remoteAddress = peerInfo.getRemoteAddress();
+        }
+
+        WritableMap toMap() {
+            WritableMap peerMap = new WritableNativeMap();
+            peerMap.putString("id", id);
+            peerMap.putString("name", name);
+            peerMap.putString("caps", caps);
+            peerMap.putString("enode", enode);
+            peerMap.putString("purposes", purposes);
+            peerMap.putString("localAddress", localAddress);
+            peerMap.putString("remoteAddress", remoteAddress);
+            return peerMap;
+        }
+    }
+
+    private final GethHolder gethHolder;
+    private final EventEmitter emitter;
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+    // Replaced as a whole on every refresh, never modified
+    private volatile Map<String, Peer> snapshot = Collections.emptyMap();
+
+    PeerWatcher(GethHolder gethHolder, EventEmitter emitter) {
+        this.gethHolder = gethHolder;
+        this.emitter = emitter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethPeers");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Starts polling the peers, replacing a running poller.
+     *
+     * @param intervalMs time between two polls
+     */
+    synchronized void start(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("intervalMs must be positive");
+        }
+        stop();
+        task = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                poll();
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return task != null;
+    }
+
+    void shutdown() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the connected peers, from the snapshot while polling.
+     *
+     * @param node the running node
+     * @throws Exception - if the peers can't be read
+     * @return the peers
+     */
+    Collection<Peer> getPeers(Node node) throws Exception {
+        if (isRunning()) {
+            return snapshot.values();
+        }
+        // Not kept, the snapshot stays what the next poll diffs against
+        return readPeers(node.getPeerInfos(), snapshot, null).values();
+    }
+
+    private void poll() {
+        List<Peer> added = new ArrayList<>();
+        List<Peer> removed = new ArrayList<>();
+        try {
+            if (gethHolder.getNodeStarted()) {
+                refresh(gethHolder.getNode().getPeerInfos(), added, removed);
+            } else {
+                clear(removed);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed polling peers: " + e.getMessage());
+            return;
+        }
+        if (!added.isEmpty()) emitter.emit(PEER_ADDED_EVENT, toArray(added));
+        if (!removed.isEmpty()) emitter.emit(PEER_REMOVED_EVENT, toArray(removed));
+    }
+
+    /**
+     * Replaces the snapshot with the given peers.
+     *
+     * @param peerInfos the connected peers
+     * @param added     receives the peers that weren't in the snapshot, if not null
+     * @param removed   receives the peers that are gone, if not null
+     */
+    private synchronized void refresh(PeerInfos peerInfos, List<Peer> added, List<Peer> removed) throws Exception {
+        Map<String, Peer> previous = snapshot;
+        Map<String, Peer> next = readPeers(peerInfos, previous, added);
+        if (removed != null) {
+            for (Peer peer : previous.values()) {
+                if (!next.containsKey(peer.id)) removed.add(peer);
+            }
+        }
+        snapshot = Collections.unmodifiableMap(next);
+    }
+
+    /**
+     * @param peerInfos the connected peers
+     * @param known     peers to reuse rather than reading their details again
+     * @param added     receives the peers that weren't known, if not null
+     * @return the peers keyed by ID
+     */
+    private static Map<String, Peer> readPeers(PeerInfos peerInfos, Map<String, Peer> known, List<Peer> added) throws Exception {
+        Map<String, Peer> peers = new LinkedHashMap<>();
+        long size = peerInfos.size();
+        for (long i = 0; i < size; i++) {
+            PeerInfo peerInfo = peerInfos.get(i);
+            String id = peerInfo.getID();
+            Peer peer = known.get(id);
+            if (peer == null) {
+                peer = new Peer(peerInfo, id);
+                if (added != null) added.add(peer);
+            }
+            peers.put(id, peer);
+        }
+        return peers;
+    }
+
+    private synchronized void clear(List<Peer> removed) {
+        removed.addAll(snapshot.values());
+        snapshot = Collections.emptyMap();
+    }
+
+    static WritableArray toArray(Collection<Peer> peers) {
+        WritableArray result = new WritableNativeArray();
+        for (Peer peer : peers) {
+            result.pushMap(peer.toMap());
+        }
+        return result;
+    }
+}
@@ -4,7 +4,6 @@ package com.reactnativegeth;
  * Created by yaska on 17-09-29.
  */
 
-import android.util.Base64;
 import android.util.Log;
 
 import com.facebook.react.bridge.Promise;
@@ -17,7 +16,6 @@ import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
 
 import org.ethereum.geth.Account;
 import org.ethereum.geth.Accounts;
@@ -28,32 +26,51 @@ import org.ethereum.geth.Enode;
 import org.ethereum.geth.Enodes;
 import org.ethereum.geth.EthereumClient;
 import org.ethereum.geth.Geth;
-import org.ethereum.geth.Header;
 import org.ethereum.geth.KeyStore;
-import org.ethereum.geth.NewHeadHandler;
 import org.ethereum.geth.Node;
 import org.ethereum.geth.NodeConfig;
 import org.ethereum.geth.SyncProgress;
 import org.ethereum.geth.Transaction;
 import org.ethereum.geth.NodeInfo;
 import org.ethereum.geth.Stats;
-import org.ethereum.geth.PeerInfo;
-import org.ethereum.geth.PeerInfos;
 import org.ethereum.geth.Strings;
 
+import com.reactnativegeth.ExecutionLanes.Call;
+import com.reactnativegeth.ExecutionLanes.Lane;
+import com.reactnativegeth.GethHolder.NodeInstance;
+import com.reactnativegeth.GethHolder.NodeState;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+
 public class RNGethModule extends ReactContextBaseJavaModule {
 
     private static final String TAG = "RNGeth";
     private static final String CONFIG_NODE_ERROR = "CONFIG_NODE_ERROR";
     private static final String START_NODE_ERROR = "START_NODE_ERROR";
-    private static final String STOP_NODE_ERROR = "STOP_NODE_ERROR";
+    private static final String NODE_NOT_CONFIGURED_ERROR = "NODE_NOT_CONFIGURED_ERROR";
+    static final String STOP_NODE_ERROR = "STOP_NODE_ERROR";
+    static final String SWITCH_NODE_ERROR = "SWITCH_NODE_ERROR";
+    private static final String STANDBY_NODE_ERROR = "STANDBY_NODE_ERROR";
     private static final String NEW_ACCOUNT_ERROR = "NEW_ACCOUNT_ERROR";
     private static final String UNLOCK_ACCOUNT_ERROR = "UNLOCK_ACCOUNT_ERROR";
+    private static final String UNLOCK_ACCOUNTS_ERROR = "UNLOCK_ACCOUNTS_ERROR";
+    private static final String CALIBRATE_SCRYPT_ERROR = "CALIBRATE_SCRYPT_ERROR";
+    private static final String MIGRATE_KEY_STORE_ERROR = "MIGRATE_KEY_STORE_ERROR";
     private static final String GET_ACCOUNT_ERROR = "GET_ACCOUNT_ERROR";
     private static final String ADD_ACCOUNT_ERROR = "ADD_ACCOUNT_ERROR";
     private static final String BALANCE_ACCOUNT_ERROR = "BALANCE_ACCOUNT_ERROR";
     private static final String BALANCE_AT_ERROR = "BALANCE_AT_ERROR";
+    private static final String BALANCES_AT_ERROR = "BALANCES_AT_ERROR";
     private static final String SYNC_PROGRESS_ERROR = "SYNC_PROGRESS_ERROR";
+    private static final String SYNC_PROGRESS_UPDATES_ERROR = "SYNC_PROGRESS_UPDATES_ERROR";
     private static final String SUBSCRIBE_NEW_HEAD_ERROR = "SUBSCRIBE_NEW_HEAD_ERROR";
     private static final String UPDATE_ACCOUNT_ERROR = "UPDATE_ACCOUNT_ERROR";
     private static final String DELETE_ACCOUNT_ERROR = "DELETE_ACCOUNT_ERROR";
@@ -61,23 +78,81 @@ public class RNGethModule extends ReactContextBaseJavaModule {
     private static final String IMPORT_KEY_ERROR = "IMPORT_ACCOUNT_KEY_ERROR";
     private static final String GET_ACCOUNTS_ERROR = "GET_ACCOUNTS_ERROR";
     private static final String GET_NONCE_ERROR = "GET_NONCE_ERROR";
+    private static final String RESERVE_NONCE_ERROR = "RESERVE_NONCE_ERROR";
+    private static final String RELEASE_NONCE_ERROR = "RELEASE_NONCE_ERROR";
+    private static final String RESET_NONCE_ERROR = "RESET_NONCE_ERROR";
     private static final String SUGGEST_GAS_PRICE_ERROR = "SUGGEST_GAS_PRICE_ERROR";
     private static final String SIGN_TRANSACTION_ERROR = "SIGN_TRANSACTION_ERROR";
     private static final String SIGN_TRANSACTION_PASSPHRASE_ERROR = "SIGN_TRANSACTION_PASSPHRASE_ERROR";
     private static final String SIGN_HASH_ERROR = "SIGN_HASH_ERROR";
     private static final String SIGN_HASH_PASSPHRASE_ERROR = "SIGN_HASH_PASSPHRASE_ERROR";
+    private static final String SIGN_TRANSACTIONS_ERROR = "SIGN_TRANSACTIONS_ERROR";
+    private static final String SUBMIT_TRANSACTION_ERROR = "SUBMIT_TRANSACTION_ERROR";
+    private static final String PENDING_TRANSACTIONS_ERROR = "PENDING_TRANSACTIONS_ERROR";
+    private static final String SIGN_HASHES_ERROR = "SIGN_HASHES_ERROR";
     private static final String GETH_STATS_ERROR = "GETH_STATS_ERROR";
     private static final String PEERS_INFO_ERROR = "PEERS_INFO_ERROR";
+    private static final String METRICS_ERROR = "METRICS_ERROR";
+    private static final String READ_LOG_ERROR = "READ_LOG_ERROR";
+    private static final String RECENT_HEADERS_ERROR = "RECENT_HEADERS_ERROR";
+    private static final String BLOOM_WATCH_ERROR = "BLOOM_WATCH_ERROR";
     private static final String ETH_DIR = ".ethereum";
     private static final String KEY_STORE_DIR = "keystore";
+    private static final String SCRYPT_CALIBRATION_DIR = "scrypt-calibration";
     private static final String COMPUTE_SHARED_SECRET_ERROR = "COMPUTE_SHARED_SECRET_ERROR";
     private static final String DECRYPT_ERROR = "DECRYPT_ERROR";
+    private static final String DECRYPT_BATCH_ERROR = "DECRYPT_BATCH_ERROR";
 
     private GethHolder gethHolder;
+    private final HeaderRing headerRing;
+    private final BloomWatchList bloomWatchList;
+    private final NewHeadDispatcher headDispatcher;
+    private final BridgeMetrics metrics;
+    private final ExecutionLanes lanes;
+    private final BalanceCache balanceCache;
+    private final SyncProgressSampler syncProgressSampler;
+    private final GasPriceCache gasPriceCache;
+    private final NonceManager nonceManager;
+    private final TransactionQueue transactionQueue;
+    private final NodeLifecycle nodeLifecycle;
+    private final StaticPeerStore staticPeerStore;
+    private final PeerWatcher peerWatcher;
+    private final StatsSampler statsSampler;
+    private final NodeLogFile nodeLogFile;
+    private final KdfWorkers kdfWorkers;
+    private final SharedSecretCache sharedSecretCache;
+    private final UnlockTracker unlockTracker;
+    private final KeyStoreKdf keyStoreKdf;
+    // Set by setConfig while calls may be running on the lanes, hence volatile
+    private volatile PayloadCodec payloadCodec = PayloadCodec.BASE64;
 
     public RNGethModule(ReactApplicationContext reactContext, GethHolder gethHolder) {
         super(reactContext);
         this.gethHolder = gethHolder;
+        EventEmitter emitter = new EventEmitter(reactContext);
+        this.headerRing = new HeaderRing();
+        this.bloomWatchList = new BloomWatchList();
+        this.headDispatcher = new NewHeadDispatcher(emitter, headerRing, bloomWatchList);
+        this.metrics = new BridgeMetrics(emitter);
+        this.lanes = new ExecutionLanes(metrics);
+        this.balanceCache = new BalanceCache(headDispatcher);
+        headDispatcher.addListener(balanceCache);
+        this.syncProgressSampler = new SyncProgressSampler(gethHolder, emitter);
+        this.gasPriceCache = new GasPriceCache(gethHolder);
+        headDispatcher.addListener(gasPriceCache);
+        this.nonceManager = new NonceManager(gethHolder);
+        headDispatcher.addListener(nonceManager);
+        this.transactionQueue = new TransactionQueue(gethHolder, nonceManager, emitter);
+        headDispatcher.addListener(transactionQueue);
+        this.nodeLifecycle = new NodeLifecycle(gethHolder, headDispatcher, emitter);
+        this.staticPeerStore = new StaticPeerStore(gethHolder, gethHolder.getStaticNodesFile());
+        this.peerWatcher = new PeerWatcher(gethHolder, emitter);
+        this.statsSampler = new StatsSampler(gethHolder);
+        this.nodeLogFile = new NodeLogFile();
+        this.kdfWorkers = new KdfWorkers();
+        this.sharedSecretCache = new SharedSecretCache();
+        this.unlockTracker = new UnlockTracker();
+        this.keyStoreKdf = new KeyStoreKdf(gethHolder, kdfWorkers, sharedSecretCache, emitter);
     }
 
     @Override
@@ -85,6 +160,25 @@ public class RNGethModule extends ReactContextBaseJavaModule {
         return TAG;
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        headDispatcher.shutdown();
+        headerRing.close();
+        lanes.shutdown();
+        metrics.shutdown();
+        balanceCache.shutdown();
+        syncProgressSampler.shutdown();
+        gasPriceCache.shutdown();
+        nonceManager.shutdown();
+        transactionQueue.shutdown();
+        nodeLifecycle.shutdown();
+        staticPeerStore.shutdown();
+        peerWatcher.shutdown();
+        statsSampler.shutdown();
+        nodeLogFile.shutdown();
+        kdfWorkers.shutdown();
+    }
+
     /**
      * Creates and configures a new Geth node.
      *
@@ -94,7 +188,17 @@ public class RNGethModule extends ReactContextBaseJavaModule {
      */
     @ReactMethod
     public void setConfig(ReadableMap config, Promise promise) {
-        if (gethHolder.getNodeStarted() == true) {
+        promise = metrics.track("setConfig", promise);
+        try {
+            applyModuleOptions(config);
+        } catch (Exception e) {
+            promise.reject(CONFIG_NODE_ERROR, e);
+            return;
+        }
+
+        // setConfig always configures the default node, even while another one is active
+        NodeState state = gethHolder.getDefaultInstance().getState();
+        if (state == NodeState.STARTING || state == NodeState.STARTED || state == NodeState.STOPPING) {
             Log.w(TAG, "RNGeth already has a node *started*, skipping creation of a new one");
             promise.resolve(true);
             return;
@@ -102,54 +206,59 @@ public class RNGethModule extends ReactContextBaseJavaModule {
 
         try {
             Log.i(TAG, "Configuring node config");
-            NodeConfig nc = new NodeConfig();
             String nodeDir = ETH_DIR;
             String keyStoreDir = KEY_STORE_DIR;
+            long scryptN = Geth.LightScryptN;
+            long scryptP = Geth.LightScryptP;
             if (config.hasKey("enodes"))
-                gethHolder.writeStaticNodesFile(config.getString("enodes"));
-            if (config.hasKey("networkID")) nc.setEthereumNetworkID(config.getInt("networkID"));
-            if (config.hasKey("maxPeers")) nc.setMaxPeers(config.getInt("maxPeers"));
-            if (config.hasKey("genesis")) nc.setEthereumGenesis(config.getString("genesis"));
+                staticPeerStore.setConfiguredEnodes(config.getString("enodes"));
+            NodeConfig nc = buildNodeConfig(config);
             if (config.hasKey("nodeDir")) nodeDir = config.getString("nodeDir");
             if (config.hasKey("keyStoreDir")) keyStoreDir = config.getString("keyStoreDir");
-            if (config.hasKey("syncMode")) nc.setSyncMode(config.getInt("syncMode"));
-            if (config.hasKey("useLightweightKDF")) nc.setUseLightweightKDF(config.getBoolean("useLightweightKDF"));
-            if (config.hasKey("noDiscovery")) nc.setNoDiscovery(config.getBoolean("noDiscovery"));
-            if (config.hasKey("bootnodeEnodes")) {
-                ReadableArray bootnodeEnodes = config.getArray("bootnodeEnodes");
-                int enodesSize = bootnodeEnodes.size();
-                Enodes enodes = new Enodes(enodesSize);
-                for (int i = 0; i < enodesSize; i++) {
-                    Enode enode = new Enode(bootnodeEnodes.getString(i));
-                    enodes.set(i, enode);
-                }
-                nc.setBootstrapNodes(enodes);
-            }
-            // HTTP RPC configurations, which should only be used for development & debugging
-            if (config.hasKey("httpHost")) nc.setHTTPHost(config.getString("httpHost"));
-            if (config.hasKey("httpPort")) nc.setHTTPPort(config.getInt("httpPort"));
-            if (config.hasKey("httpVirtualHosts")) nc.setHTTPVirtualHosts(config.getString("httpVirtualHosts"));
-            if (config.hasKey("httpModules")) nc.setHTTPModules(config.getString("httpModules"));
-
-            if (config.hasKey("ipcPath")) nc.setIPCPath(config.getString("ipcPath"));
+            if (config.hasKey("keyStoreScryptN")) scryptN = (long) config.getDouble("keyStoreScryptN");
+            if (config.hasKey("keyStoreScryptP")) scryptP = (long) config.getDouble("keyStoreScryptP");
+            KeyStoreKdf.validate(scryptN, scryptP);
             if (config.hasKey("logFile")) {
                 String logFileName = config.getString("logFile");
                 int logLevel = 3;  // Info
                 if (config.hasKey("logFileLogLevel")) {
                     logLevel = config.getInt("logFileLogLevel");
                 }
-                Geth.sendLogsToFile(logFileName, logLevel, "term");
+                long logFileMaxBytes = 0;
+                if (config.hasKey("logFileMaxBytes")) {
+                    logFileMaxBytes = (long) config.getDouble("logFileMaxBytes");
+                }
+                int logFileMaxSegments = NodeLogFile.DEFAULT_MAX_SEGMENTS;
+                if (config.hasKey("logFileMaxSegments")) {
+                    logFileMaxSegments = config.getInt("logFileMaxSegments");
+                }
+                nodeLogFile.configure(logFileName, logLevel, logFileMaxBytes, logFileMaxSegments);
             }
 
             Log.i(TAG, "Making a new Geth Node");
             String dataDir = getReactApplicationContext().getFilesDir() + "/" + nodeDir;
             Node nd = Geth.newNode(dataDir, nc);
-            KeyStore ks = new KeyStore(dataDir + "/" + keyStoreDir, Geth.LightScryptN, Geth.LightScryptP);
-            gethHolder.setNodeConfig(nc);
-            gethHolder.setKeyStore(ks);
-            gethHolder.setNode(nd);
+            int recentHeadersCapacity = HeaderRing.DEFAULT_CAPACITY;
+            if (config.hasKey("recentHeadersCapacity")) recentHeadersCapacity = config.getInt("recentHeadersCapacity");
+            headerRing.open(new File(dataDir), recentHeadersCapacity);
+            final KeyStore ks = new KeyStore(dataDir + "/" + keyStoreDir, scryptN, scryptP);
+            gethHolder.getDefaultInstance().configure(nd, nc, dataDir);
             Log.i(TAG, "Done creating and configuring node");
-            promise.resolve(true);
+            // Swapped once the key store calls made before are done, and before any made after
+            final Promise configured = promise;
+            lanes.enqueue(Lane.CRYPTO, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        gethHolder.setKeyStore(ks);
+                        sharedSecretCache.clear();
+                        unlockTracker.clear();
+                        configured.resolve(true);
+                    } catch (Exception e) {
+                        configured.reject(CONFIG_NODE_ERROR, e);
+                    }
+                }
+            });
         } catch (Exception e) {
             e.printStackTrace();
             promise.reject(CONFIG_NODE_ERROR, e);
@@ -157,22 +266,81 @@ public class RNGethModule extends ReactContextBaseJavaModule {
     }
 
     /**
-     * Start creates a live P2P node and starts running it.
+     * Builds the config of a node from the options of setConfig that only concern the node.
+     *
+     * @param config Json object configuration node
+     * @throws Exception - if an enode is malformed
+     * @return the node config
+     */
+    private static NodeConfig buildNodeConfig(ReadableMap config) throws Exception {
+        NodeConfig nc = new NodeConfig();
+        if (config.hasKey("networkID")) nc.setEthereumNetworkID(config.getInt("networkID"));
+        if (config.hasKey("maxPeers")) nc.setMaxPeers(config.getInt("maxPeers"));
+        if (config.hasKey("genesis")) nc.setEthereumGenesis(config.getString("genesis"));
+        if (config.hasKey("syncMode")) nc.setSyncMode(config.getInt("syncMode"));
+        if (config.hasKey("useLightweightKDF")) nc.setUseLightweightKDF(config.getBoolean("useLightweightKDF"));
+        if (config.hasKey("noDiscovery")) nc.setNoDiscovery(config.getBoolean("noDiscovery"));
+        if (config.hasKey("bootnodeEnodes")) {
+            ReadableArray bootnodeEnodes = config.getArray("bootnodeEnodes");
+            int enodesSize = bootnodeEnodes.size();
+            Enodes enodes = new Enodes(enodesSize);
+            for (int i = 0; i < enodesSize; i++) {
+                Enode enode = new Enode(bootnodeEnodes.getString(i));
+                enodes.set(i, enode);
+            }
+            nc.setBootstrapNodes(enodes);
+        }
+        // HTTP RPC configurations, which should only be used for development & debugging
+        if (config.hasKey("httpHost")) nc.setHTTPHost(config.getString("httpHost"));
+        if (config.hasKey("httpPort")) nc.setHTTPPort(config.getInt("httpPort"));
+        if (config.hasKey("httpVirtualHosts")) nc.setHTTPVirtualHosts(config.getString("httpVirtualHosts"));
+        if (config.hasKey("httpModules")) nc.setHTTPModules(config.getString("httpModules"));
+
+        if (config.hasKey("ipcPath")) nc.setIPCPath(config.getString("ipcPath"));
+        return nc;
+    }
+
+    /**
+     * Applies the options tuning the module itself, like the queue depth limits
+     * of the execution lanes. Unlike the node configuration these also apply
+     * while a node is started.
+     *
+     * @param config Json object configuration node
+     * @throws IllegalStateException - if payloadEncoding changes while calls are queued
+     */
+    private void applyModuleOptions(ReadableMap config) {
+        // Checked first so nothing is applied when it's refused
+        PayloadCodec codec = payloadCodec;
+        if (config.hasKey("payloadEncoding")) codec = PayloadCodec.fromName(config.getString("payloadEncoding"));
+        if (codec != payloadCodec && lanes.inFlight() > 0) {
+            // A queued call would decode its payload with one encoding and encode its result with the other
+            throw new IllegalStateException("payloadEncoding can't change while calls are queued");
+        }
+        if (config.hasKey("cryptoQueueDepth")) lanes.setQueueDepth(Lane.CRYPTO, config.getInt("cryptoQueueDepth"));
+        if (config.hasKey("networkQueueDepth")) lanes.setQueueDepth(Lane.NETWORK, config.getInt("networkQueueDepth"));
+        if (config.hasKey("stateQueueDepth")) lanes.setQueueDepth(Lane.STATE, config.getInt("stateQueueDepth"));
+        if (config.hasKey("gasPriceMaxAgeMs")) gasPriceCache.setMaxAge((long) config.getDouble("gasPriceMaxAgeMs"));
+        if (config.hasKey("peerCacheSize")) staticPeerStore.setCapacity(config.getInt("peerCacheSize"));
+        if (config.hasKey("sharedSecretCacheSize")) sharedSecretCache.setCapacity(config.getInt("sharedSecretCacheSize"));
+        payloadCodec = codec;
+    }
+
+    /**
+     * Start creates a live P2P node and starts running it in the background.
+     * Progress is reported through GethNodeLifecycle events.
      *
      * @param promise Promise
-     * @return Return true if started.
+     * @return Return true if the node is starting, false if it was already starting or started.
      */
     @ReactMethod
     public void startNode(Promise promise) {
-        Boolean result = false;
+        promise = metrics.track("startNode", promise);
+        if (gethHolder.getNodeState() == NodeState.UNCONFIGURED) {
+            promise.reject(NODE_NOT_CONFIGURED_ERROR, "call method setConfig() before");
+            return;
+        }
         try {
-            if (gethHolder.getNodeStarted() == false) {
-                Log.i(TAG, "Starting node");
-                gethHolder.getNode().start();
-                gethHolder.setNodeStarted(true);
-                result = true;
-            }
-            promise.resolve(result);
+            promise.resolve(nodeLifecycle.start());
         } catch (Exception e) {
             e.printStackTrace();
             promise.reject(START_NODE_ERROR, e);
@@ -181,510 +349,1299 @@ public class RNGethModule extends ReactContextBaseJavaModule {
 
     /**
      * Terminates a running node along with all it's services.
+     * Waits for a start in progress to complete first.
      *
      * @param promise Promise
      * @return return true if stopped.
      */
     @ReactMethod
     public void stopNode(Promise promise) {
-        Boolean result = false;
-        try {
-            if (gethHolder.getNodeStarted() == true) {
-                Log.i(TAG, "Stopping node");
-                gethHolder.getNode().close();
-                gethHolder.setNodeStarted(false);
-                result = true;
-            }
-            promise.resolve(result);
-        } catch (Exception e) {
-            promise.reject(STOP_NODE_ERROR, e);
-        }
+        promise = metrics.track("stopNode", promise);
+        nodeLifecycle.stop(promise);
     }
 
     /**
-     * Create a new account with the specified encryption passphrase.
+     * Creates or reconfigures a named standby node, with its own data directory
+     * and config but sharing the key store of the active node. The node options
+     * of setConfig apply; the key store, log file and module options don't.
      *
-     * @param passphrase Passphrase
-     * @param promise    Promise
-     * @return return new account object.
+     * @param name    the name of the instance
+     * @param config  Json object configuration node, nodeDir is required
+     * @param promise Promise
+     * @return Return true if created and configured node
      */
     @ReactMethod
-    public void newAccount(String passphrase, Promise promise) {
+    public void setStandbyConfig(String name, ReadableMap config, Promise promise) {
+        promise = metrics.track("setStandbyConfig", promise);
         try {
-            Account acc = gethHolder.getKeyStore().newAccount(passphrase);
-            WritableMap newAccount = new WritableNativeMap();
-            newAccount.putString("address", acc.getAddress().getHex());
-            newAccount.putDouble("account", gethHolder.getKeyStore().getAccounts().size() - 1);
-            promise.resolve(newAccount);
+            NodeInstance instance = gethHolder.getOrCreateInstance(name);
+            if (instance == gethHolder.getActiveInstance()) {
+                throw new IllegalStateException("The " + name + " node is the active one, use setConfig");
+            }
+            NodeState state = instance.getState();
+            if (state == NodeState.STARTING || state == NodeState.STARTED || state == NodeState.STOPPING) {
+                throw new IllegalStateException("The " + name + " node is started");
+            }
+            if (!config.hasKey("nodeDir")) {
+                throw new IllegalArgumentException("A standby node needs its own nodeDir");
+            }
+            String dataDir = getReactApplicationContext().getFilesDir() + "/" + config.getString("nodeDir");
+            for (NodeInstance other : gethHolder.getInstances()) {
+                if (other != instance && dataDir.equals(other.getDataDir())) {
+                    throw new IllegalArgumentException("The " + other.name + " node already uses " + dataDir);
+                }
+            }
+            NodeConfig nc = buildNodeConfig(config);
+            instance.configure(Geth.newNode(dataDir, nc), nc, dataDir);
+            promise.resolve(true);
         } catch (Exception e) {
-            promise.reject(NEW_ACCOUNT_ERROR, e);
+            promise.reject(STANDBY_NODE_ERROR, e);
         }
     }
 
     /**
-     * Sets the default account at the given index in the listAccounts.
+     * Starts a standby node in the background, so switching to it later is instant.
+     * Progress is reported through GethNodeLifecycle events with its name.
      *
-     * @param privateKeyBase64 Base64 encoded private key
-     * @param passphrase The passphrase to use with this new account
+     * @param name    the name of the instance
      * @param promise Promise
-     * @return Return the address of the newly added account
+     * @return Return true if the node is starting, false if it was already starting or started.
      */
     @ReactMethod
-    public void addAccount(String privateKeyBase64, String passphrase, Promise promise) {
-        try {
-            byte[] privateKey = Base64.decode(privateKeyBase64, Base64.DEFAULT);
-            Account account = gethHolder.getKeyStore().importECDSAKey(privateKey, passphrase);
-            promise.resolve(account.getAddress().getHex());
-        } catch (Exception e) {
-            promise.reject(ADD_ACCOUNT_ERROR, e);
+    public void startStandbyNode(String name, Promise promise) {
+        promise = metrics.track("startStandbyNode", promise);
+        NodeInstance instance = gethHolder.getInstance(name);
+        if (instance == null || instance.getState() == NodeState.UNCONFIGURED) {
+            promise.reject(STANDBY_NODE_ERROR, "call method setStandbyConfig('" + name + "') before");
+            return;
         }
+        promise.resolve(nodeLifecycle.start(instance));
     }
 
     /**
-     * Unlock an account with the passphrase provided.
+     * Stops a standby node.
      *
-     * @param address The address to unlock
-     * @param passphrase The passphrase used to unlock
+     * @param name    the name of the instance
      * @param promise Promise
-     * @return Return the address of the newly added account
+     * @return Return true if stopped, false if it wasn't running.
      */
     @ReactMethod
-    public void unlockAccount(String address, String passphrase, Double timeout, Promise promise) {
-        try {
-            Account account = gethHolder.findAccount(address);
-            this.gethHolder.getKeyStore().timedUnlock(account, passphrase, timeout.longValue());
-            promise.resolve(true);
-        } catch (Exception e) {
-            promise.reject(UNLOCK_ACCOUNT_ERROR, e);
+    public void stopStandbyNode(String name, Promise promise) {
+        promise = metrics.track("stopStandbyNode", promise);
+        NodeInstance instance = gethHolder.getInstance(name);
+        if (instance == null) {
+            promise.resolve(false);
+            return;
         }
+        nodeLifecycle.stopStandby(instance, promise);
     }
 
     /**
-     * Retrieves the address associated with the current account.
+     * Makes a started node the active one, which every query goes to from then on.
+     * The new head subscription moves over and the caches filled from the previous
+     * node are dropped; the previous node keeps running as a standby. Emits a
+     * GethActiveNodeChanged event {instance, previous}.
      *
+     * @param name    the name of the instance, "default" for the one set up by setConfig
      * @param promise Promise
-     * @return Return string address.
+     * @return Return true if switched, false if the node was already active.
      */
     @ReactMethod
-    public void getAddress(Promise promise) {
-        try {
-            Account acc = gethHolder.getAccount();
-            if (acc != null) {
-                Address address = acc.getAddress();
-                promise.resolve(address.getHex());
-            } else {
-                promise.reject(GET_ACCOUNT_ERROR, "call method setAccount() before");
-            }
-        } catch (Exception e) {
-            promise.reject(GET_ACCOUNT_ERROR, e);
+    public void switchNode(String name, Promise promise) {
+        promise = metrics.track("switchNode", promise);
+        NodeInstance instance = gethHolder.getInstance(name);
+        if (instance == null) {
+            promise.reject(SWITCH_NODE_ERROR, "No node named " + name);
+            return;
         }
+        final NodeInstance switched = instance;
+        nodeLifecycle.switchTo(instance, new Runnable() {
+            @Override
+            public void run() {
+                balanceCache.clear();
+                gasPriceCache.clear();
+                nonceManager.clear();
+                transactionQueue.clear();
+                if (switched.getDataDir() == null) return;
+                try {
+                    headerRing.moveTo(new File(switched.getDataDir()));
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed opening the recent headers of the " + switched.name + " node: " + e.getMessage());
+                }
+            }
+        }, promise);
     }
 
     /**
-     * Returns the wei balance of the current account.
+     * Lists the node instances.
      *
      * @param promise Promise
-     * @return Return String balance.
+     * @return Return [{name, state, active}]
      */
     @ReactMethod
-    public void balanceAccount(Promise promise) {
-        try {
-            Account acc = gethHolder.getAccount();
-            if (acc != null) {
-                Context ctx = new Context();
-                BigInt balance = gethHolder.getNode().getEthereumClient()
-                        .getBalanceAt(ctx, acc.getAddress(), -1);
-                promise.resolve(balance.toString());
-            } else {
-                promise.reject(BALANCE_ACCOUNT_ERROR, "call method setAccount() before");
-            }
-        } catch (Exception e) {
-            promise.reject(BALANCE_ACCOUNT_ERROR, e);
+    public void getNodeInstances(Promise promise) {
+        promise = metrics.track("getNodeInstances", promise);
+        NodeInstance active = gethHolder.getActiveInstance();
+        WritableArray result = new WritableNativeArray();
+        for (NodeInstance instance : gethHolder.getInstances()) {
+            WritableMap item = new WritableNativeMap();
+            item.putString("name", instance.name);
+            item.putString("state", instance.getState().name().toLowerCase(Locale.US));
+            item.putBoolean("active", instance == active);
+            result.pushMap(item);
         }
+        promise.resolve(result);
     }
 
     /**
-     * Returns the wei balance of the specified account.
+     * Retrieves the lifecycle state of the node.
      *
-     * @param address Address of account being looked up.
      * @param promise Promise
-     * @return Return String balance.
+     * @return Return one of unconfigured, configured, starting, started, stopping, stopped or failed.
      */
     @ReactMethod
-    public void balanceAt(String address, Promise promise) {
-        try {
-            Context ctx = new Context();
-            BigInt balance = gethHolder.getNode().getEthereumClient()
-                    .getBalanceAt(ctx, new Address(address), -1);
-            promise.resolve(balance.toString());
-        } catch (Exception e) {
-            promise.reject(BALANCE_AT_ERROR, e);
-        }
+    public void getNodeState(Promise promise) {
+        promise = metrics.track("getNodeState", promise);
+        promise.resolve(gethHolder.getNodeState().name().toLowerCase(Locale.US));
     }
 
     /**
-     * SyncProgress retrieves the current progress of the sync algorithm.
-     * - Break change : getSyncProgress ==> syncProgress -
+     * Create a new account with the specified encryption passphrase.
      *
-     * @param promise Promise
-     * @return Return object sync progress or null
+     * @param passphrase Passphrase
+     * @param promise    Promise
+     * @return return new account object.
      */
     @ReactMethod
-    public void syncProgress(Promise promise) {
-        try {
-            Context ctx = new Context();
-            SyncProgress sp = gethHolder.getNode().getEthereumClient().syncProgress(ctx);
-            if (sp != null) {
-                WritableMap syncProgress = new WritableNativeMap();
-                syncProgress.putDouble("startingBlock", sp.getStartingBlock());
-                syncProgress.putDouble("currentBlock", sp.getCurrentBlock());
-                syncProgress.putDouble("highestBlock", sp.getHighestBlock());
-                promise.resolve(syncProgress);
-                return;
-            }
-            // Syncing has either not starter, or has already stopped.
-            promise.resolve(null);
-        } catch (Exception e) {
-            promise.reject(SYNC_PROGRESS_ERROR, e);
-        }
+    public void newAccount(final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "newAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getKeyStore().newAccount(passphrase);
+                    gethHolder.indexAccount(acc);
+                    WritableMap newAccount = new WritableNativeMap();
+                    newAccount.putString("address", acc.getAddress().getHex());
+                    newAccount.putDouble("account", gethHolder.getKeyStore().getAccounts().size() - 1);
+                    promise.resolve(newAccount);
+                } catch (Exception e) {
+                    promise.reject(NEW_ACCOUNT_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Subscribes to notifications about the current blockchain head
+     * Sets the default account at the given index in the listAccounts.
      *
+     * @param privateKeyBase64 Encoded private key, see payloadEncoding
+     * @param passphrase The passphrase to use with this new account
      * @param promise Promise
-     * @return Return true if subscribed
+     * @return Return the address of the newly added account
      */
     @ReactMethod
-    public void subscribeNewHead(Promise promise) {
-        try {
-            NewHeadHandler handler = new NewHeadHandler() {
-                @Override
-                public void onError(String error) {
-                    Log.e(TAG, "Error emitting new head event: " + error);
+    public void addAccount(final String privateKeyBase64, final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "addAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    byte[] privateKey = payloadCodec.decode(privateKeyBase64);
+                    Account account = gethHolder.getKeyStore().importECDSAKey(privateKey, passphrase);
+                    gethHolder.indexAccount(account);
+                    promise.resolve(account.getAddress().getHex());
+                } catch (Exception e) {
+                    promise.reject(ADD_ACCOUNT_ERROR, e);
                 }
-
-                @Override
-                public void onNewHead(final Header header) {
-                    WritableMap headerMap = new WritableNativeMap();
-                    WritableArray extraArray = new WritableNativeArray();
-                    for (byte extraByte : header.getExtra()) {
-                        extraArray.pushInt(extraByte);
-                    }
-                    headerMap.putString("parentHash", header.getParentHash().getHex());
-                    headerMap.putString("coinbase", header.getCoinbase().getHex());
-                    headerMap.putString("root", header.getRoot().getHex());
-                    headerMap.putString("TxHash", header.getTxHash().getHex());
-                    headerMap.putString("receiptHash", header.getReceiptHash().getHex());
-                    headerMap.putString("bloom", header.getBloom().getHex());
-                    headerMap.putDouble("number", (double) header.getNumber());
-                    headerMap.putDouble("gasUsed", (double) header.getGasUsed());
-                    headerMap.putDouble("time", (double) header.getTime());
-                    headerMap.putString("hash", header.getHash().getHex());
-                    headerMap.putArray("extra", extraArray);
-
-                    getReactApplicationContext()
-                            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                            .emit("GethNewHead", headerMap);
-                }
-            };
-
-            Context ctx = new Context();
-            Log.i(TAG, "Subscribing to new head");
-            gethHolder.getNode().getEthereumClient().subscribeNewHead(ctx, handler, 16);
-            promise.resolve(true);
-        } catch (Exception e) {
-            promise.reject(SUBSCRIBE_NEW_HEAD_ERROR, e);
-        }
+            }
+        });
     }
 
     /**
-     * Changes the passphrase of current account.
+     * Unlock an account with the passphrase provided.
      *
-     * @param oldPassphrase Passphrase
-     * @param newPassphrase New passphrase
-     * @param promise       Promise
-     * @return Return true if passphrase changed
+     * @param address The address to unlock
+     * @param passphrase The passphrase used to unlock
+     * @param promise Promise
+     * @return Return the address of the newly added account
      */
     @ReactMethod
-    public void updateAccount(String address, String oldPassphrase, String newPassphrase, Promise promise) {
-        try {
-            Account account = gethHolder.findAccount(address);
-            if (account != null) {
-                gethHolder.getKeyStore().updateAccount(account, oldPassphrase, newPassphrase);
-                promise.resolve(true);
-            } else {
-                promise.reject(UPDATE_ACCOUNT_ERROR, "call method setAccount() before");
+    public void unlockAccount(final String address, final String passphrase, final Double timeout, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "unlockAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account account = gethHolder.findAccount(address);
+                    unlockTracker.timedUnlock(gethHolder.getKeyStore(), account, passphrase, timeout.longValue());
+                    promise.resolve(true);
+                } catch (Exception e) {
+                    promise.reject(UNLOCK_ACCOUNT_ERROR, e);
+                }
             }
-        } catch (Exception e) {
-            promise.reject(UPDATE_ACCOUNT_ERROR, e);
-        }
+        });
     }
 
     /**
-     * Deletes the key matched by current account if the passphrase is correct.
+     * Unlocks several accounts with their passphrases, running the key
+     * derivations in parallel on up to one thread per core.
      *
-     * @param passphrase Passphrase
-     * @param promise    Promise
-     * @return Return true if account deleted
+     * @param accounts [{address, passphrase}]
+     * @param timeout  Unlock duration in nanoseconds, 0 to unlock until the app exits
+     * @param promise  Promise
+     * @return Return {results: [{address, unlocked, error}] in input order, wallTimeMs}
      */
     @ReactMethod
-    public void deleteAccount(String passphrase, Promise promise) {
-        try {
-            Account acc = gethHolder.getAccount();
-            if (acc != null) {
-                gethHolder.getKeyStore().deleteAccount(acc, passphrase);
-                promise.resolve(true);
-            } else {
-                promise.reject(DELETE_ACCOUNT_ERROR,
-                        "call method setAccount('accountId') before");
+    public void unlockAccounts(final ReadableArray accounts, final Double timeout, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "unlockAccounts", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    long startedAt = System.nanoTime();
+                    final KeyStore keyStore = gethHolder.getKeyStore();
+                    int size = accounts.size();
+                    List<Callable<Void>> unlocks = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        ReadableMap item = accounts.getMap(i);
+                        final String address = item.getString("address");
+                        final String passphrase = item.getString("passphrase");
+                        unlocks.add(new Callable<Void>() {
+                            @Override
+                            public Void call() throws Exception {
+                                Account account = gethHolder.findAccount(address);
+                                unlockTracker.timedUnlock(keyStore, account, passphrase, timeout.longValue());
+                                return null;
+                            }
+                        });
+                    }
+                    List<Future<Void>> unlocked = kdfWorkers.invokeAll(unlocks);
+                    WritableArray results = new WritableNativeArray();
+                    for (int i = 0; i < size; i++) {
+                        WritableMap item = new WritableNativeMap();
+                        item.putString("address", accounts.getMap(i).getString("address"));
+                        try {
+                            unlocked.get(i).get();
+                            item.putBoolean("unlocked", true);
+                            item.putNull("error");
+                        } catch (ExecutionException e) {
+                            item.putBoolean("unlocked", false);
+                            item.putString("error", String.valueOf(e.getCause().getMessage()));
+                        }
+                        results.pushMap(item);
+                    }
+                    WritableMap result = new WritableNativeMap();
+                    result.putArray("results", results);
+                    result.putDouble("wallTimeMs", (System.nanoTime() - startedAt) / 1e6);
+                    promise.resolve(result);
+                } catch (Exception e) {
+                    promise.reject(UNLOCK_ACCOUNTS_ERROR, e);
+                }
             }
-        } catch (Exception e) {
-            promise.reject(DELETE_ACCOUNT_ERROR, e);
-        }
+        });
     }
 
     /**
-     * Exports as a JSON key, encrypted with new passphrase.
+     * Times unlocking keys encrypted with increasing scrypt N on this device,
+     * to find the largest keyStoreScryptN that unlocks within a target latency
+     * at the given scryptP. Only N is searched, scryptP is returned as given.
      *
-     * @param creationPassphrase Passphrase
-     * @param exportPassphrase   New passphrase
-     * @param promise            Promise
-     * @return Return key string
+     * @param options {targetMs = 1000, scryptP = 1, maxN = StandardScryptN}
+     * @param promise Promise
+     * @return Return {scryptN, scryptP, unlockMs, meetsTarget, samples: [{scryptN, unlockMs}]}
      */
     @ReactMethod
-    public void exportKey(String creationPassphrase, String exportPassphrase, Promise promise) {
-        try {
-            Account acc = gethHolder.getAccount();
-            if (acc != null) {
-                byte[] key = gethHolder.getKeyStore()
-                        .exportKey(acc, creationPassphrase, exportPassphrase);
-                promise.resolve(new String(key, "UTF-8"));
-            } else {
-                promise.reject(EXPORT_KEY_ERROR, "call method setAccount('accountId') before");
+    public void calibrateKeyStoreScrypt(final ReadableMap options, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "calibrateKeyStoreScrypt", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    long targetMs = KeyStoreKdf.DEFAULT_TARGET_MS;
+                    long scryptP = Geth.StandardScryptP;
+                    long maxN = Geth.StandardScryptN;
+                    if (options.hasKey("targetMs")) targetMs = (long) options.getDouble("targetMs");
+                    if (options.hasKey("scryptP")) scryptP = (long) options.getDouble("scryptP");
+                    if (options.hasKey("maxN")) maxN = (long) options.getDouble("maxN");
+                    File workDir = new File(getReactApplicationContext().getFilesDir(), SCRYPT_CALIBRATION_DIR);
+                    promise.resolve(keyStoreKdf.calibrateN(workDir, targetMs, scryptP, maxN));
+                } catch (Exception e) {
+                    promise.reject(CALIBRATE_SCRYPT_ERROR, e);
+                }
             }
-        } catch (Exception e) {
-            promise.reject(EXPORT_KEY_ERROR, e);
-        }
+        });
     }
 
     /**
-     * Stores the given encrypted JSON key into the key directory.
+     * Starts re-encrypting keys in the background with the keyStoreScryptN and
+     * keyStoreScryptP the node was configured with. Progress is reported through
+     * GethKeyStoreMigration events, one per key.
      *
-     * @param key           JSON key
-     * @param oldPassphrase Passphrase
-     * @param newPassphrase New passphrase
-     * @param promise       Promise
-     * @return Return account object
+     * @param accounts [{address, passphrase}]
+     * @param promise  Promise
+     * @return Return true once the migration has started
      */
     @ReactMethod
-    public void importKey(byte[] key, String oldPassphrase, String newPassphrase, Promise promise) {
-        try {
-            Account acc = gethHolder.getKeyStore().importKey(key, oldPassphrase, newPassphrase);
-            promise.resolve(acc);
-        } catch (Exception e) {
-            promise.reject(IMPORT_KEY_ERROR, e);
-        }
+    public void migrateKeyStore(final ReadableArray accounts, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "migrateKeyStore", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    keyStoreKdf.migrate(accounts);
+                    promise.resolve(true);
+                } catch (Exception e) {
+                    promise.reject(MIGRATE_KEY_STORE_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Returns all key files present in the directory.
-     * - Break change : methode getAccounts => listAccounts -
+     * Reads the most recent headers seen, from the ring file under the node
+     * data directory, so they can be shown before the node is started.
      *
+     * @param count   how many headers to return at most
      * @param promise Promise
-     * @return Return array of accounts objects
+     * @return Return the headers, newest first, in the format of GethNewHead events
      */
     @ReactMethod
-    public void listAccounts(Promise promise) {
-        try {
-            Accounts accounts = gethHolder.getKeyStore().getAccounts();
-            Long nb = accounts.size();
-            WritableArray result = new WritableNativeArray();
-            for (long i = 0; i < nb; i++) {
-                result.pushString(accounts.get(i).getAddress().getHex());
+    public void getRecentHeaders(final Double count, final Promise promise) {
+        lanes.execute(Lane.STATE, "getRecentHeaders", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(headerRing.read(count.intValue()));
+                } catch (Exception e) {
+                    promise.reject(RECENT_HEADERS_ERROR, e);
+                }
             }
-            promise.resolve(result);
-        } catch (Exception e) {
-            promise.reject(GET_ACCOUNTS_ERROR, e);
-        }
+        });
     }
 
     /**
-     * Retrieves the currently suggested gas price to allow a timely execution of a transaction.
+     * Retrieves the address associated with the current account.
      *
      * @param promise Promise
-     * @return Return Double suggested gas price
+     * @return Return string address.
      */
     @ReactMethod
-    public void suggestGasPrice(Promise promise) {
-        try {
-            Context ctx = new Context();
-            long gasPrice = gethHolder.getNode().getEthereumClient().suggestGasPrice(ctx).getInt64();
-            promise.resolve((double) gasPrice);
-        } catch (Exception e) {
-            promise.reject(SUGGEST_GAS_PRICE_ERROR, e);
-        }
+    public void getAddress(final Promise promise) {
+        lanes.execute(Lane.STATE, "getAddress", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getAccount();
+                    if (acc != null) {
+                        Address address = acc.getAddress();
+                        promise.resolve(address.getHex());
+                    } else {
+                        promise.reject(GET_ACCOUNT_ERROR, "call method setAccount() before");
+                    }
+                } catch (Exception e) {
+                    promise.reject(GET_ACCOUNT_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Retrieves this account's pending nonce. This is the nonce you should use when creating a
-     * transaction.
+     * Returns the wei balance of the current account.
      *
      * @param promise Promise
-     * @return return Double nonce
+     * @return Return String balance.
      */
     @ReactMethod
-    public void getPendingNonce(Promise promise) {
-        try {
-            Account acc = gethHolder.getAccount();
-            Context ctx = new Context();
-            Address address = acc.getAddress();
-            long nonce = gethHolder.getNode().getEthereumClient().getPendingNonceAt(ctx, address);
-            promise.resolve((double) nonce);
-        } catch (Exception e) {
-            promise.reject(GET_NONCE_ERROR, e);
-        }
-    }
-
-    /**
-     * Get the signature by either using the passphrase or if null, consider
-     * the account unlocked
-     * @param txRLPBase64 base64 encoded RLP transaction
-     * @param signer the address signing the transaction
-     * @param passphrase the passphrase which unlocks the signer
-     * @throws NoSuchElementException - when no account is found for the signer
-     * @throws Exception - if the passphrase is wrong / signer isn't unlocked
-     * @return return base64 encoded RLP of the signed transaction
-     */
-    private String getTxSignature(String txRLPBase64, String signer, String passphrase) throws Exception {
-        byte[] txRLP = Base64.decode(txRLPBase64, Base64.DEFAULT);
-        Account account = gethHolder.findAccount(signer);
-        Transaction tx = new Transaction(txRLP);
-        BigInt chainID = new BigInt(gethHolder.getNodeConfig().getEthereumNetworkID());
-        Transaction signedTx;
-        if (passphrase == null) {
-            signedTx = gethHolder.getKeyStore().signTx(account, tx, chainID);
-        } else {
-            signedTx = gethHolder.getKeyStore().signTxPassphrase(account, passphrase, tx, chainID);
-        }
-        return Base64.encodeToString(signedTx.encodeRLP(), Base64.DEFAULT);
+    public void balanceAccount(final Promise promise) {
+        lanes.execute(Lane.NETWORK, "balanceAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getAccount();
+                    if (acc != null) {
+                        promise.resolve(balanceCache.getBalance(gethHolder.getNode().getEthereumClient(),
+                                AddressKey.of(acc.getAddress())));
+                    } else {
+                        promise.reject(BALANCE_ACCOUNT_ERROR, "call method setAccount() before");
+                    }
+                } catch (Exception e) {
+                    promise.reject(BALANCE_ACCOUNT_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Signs a transaction with an unlocked account
+     * Returns the wei balance of the specified account.
      *
-     * @param txRLPBase64 base64 encoded RLP transaction
-     * @param signer the address signing the transaction
+     * @param address Address of account being looked up.
      * @param promise Promise
-     * @return return base64 encoded RLP of the signed transaction
+     * @return Return String balance.
      */
     @ReactMethod
-    public void signTransaction(String txRLPBase64, String signer, Promise promise) {
-        try {
-            promise.resolve(getTxSignature(txRLPBase64, signer, null));
-        } catch (Exception e) {
-            promise.reject(SIGN_TRANSACTION_ERROR, e);
-        }
+    public void balanceAt(final String address, final Promise promise) {
+        lanes.execute(Lane.NETWORK, "balanceAt", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(balanceCache.getBalance(gethHolder.getNode().getEthereumClient(),
+                            AddressKey.fromHex(address)));
+                } catch (Exception e) {
+                    promise.reject(BALANCE_AT_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Signs a transaction with a passphrase
+     * Returns the wei balances of several accounts, queried concurrently.
+     * Balances already fetched at the current head are served from memory.
      *
-     * @param txRLPBase64 base64 encoded RLP transaction
-     * @param signer the address signing the transaction
-     * @param passphrase the passphrase which unlocks the signer
+     * @param addresses Addresses of the accounts being looked up.
      * @param promise Promise
-     * @return return base64 encoded RLP of the signed transaction
+     * @return Return an array of {address, balance, error} maps, in the order of the addresses
      */
     @ReactMethod
-    public void signTransactionPassphrase(String txRLPBase64, String signer, String passphrase, Promise promise) {
-        try {
-            promise.resolve(getTxSignature(txRLPBase64, signer, passphrase));
-        } catch (Exception e) {
-            promise.reject(SIGN_TRANSACTION_PASSPHRASE_ERROR, e);
-        }
+    public void balancesAt(final ReadableArray addresses, final Promise promise) {
+        lanes.execute(Lane.NETWORK, "balancesAt", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    EthereumClient client = gethHolder.getNode().getEthereumClient();
+                    int size = addresses.size();
+                    List<AddressKey> keys = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        keys.add(AddressKey.fromHex(addresses.getString(i)));
+                    }
+                    List<Future<String>> balances = balanceCache.getBalances(client, keys);
+                    WritableArray result = new WritableNativeArray();
+                    for (int i = 0; i < size; i++) {
+                        WritableMap item = new WritableNativeMap();
+                        item.putString("address", addresses.getString(i));
+                        try {
+                            item.putString("balance", balances.get(i).get());
+                            item.putNull("error");
+                        } catch (ExecutionException e) {
+                            item.putNull("balance");
+                            item.putString("error", String.valueOf(e.getCause().getMessage()));
+                        }
+                        result.pushMap(item);
+                    }
+                    promise.resolve(result);
+                } catch (Exception e) {
+                    promise.reject(BALANCES_AT_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Get the hash signature either by using the passphrase if it's provided
-     * or by relying on the account being unlocked
-     * @param hashBase64 base64 encoded hash
-     * @param signer the address signing the hash
-     * @param passphrase (optional) the passphrase to unlock the account
-     * @throws NoSuchElementException - when no account is found for the signer
-     * @throws Exception - if the passphrase is wrong / signer isn't unlocked
-     * @return The base64 encoded signature
+     * SyncProgress retrieves the current progress of the sync algorithm.
+     * - Break change : getSyncProgress ==> syncProgress -
+     *
+     * @param promise Promise
+     * @return Return object sync progress or null
      */
-    private String getHashSignature(String hashBase64, String signer, String passphrase) throws Exception {
-        byte[] hashBytes = Base64.decode(hashBase64, Base64.DEFAULT);
-        Account account = gethHolder.findAccount(signer);
-        byte[] signature;
-        if (passphrase == null) {
-            signature = gethHolder.getKeyStore().signHash(account.getAddress(), hashBytes);
-        } else {
-            signature = gethHolder.getKeyStore().signHashPassphrase(account, passphrase, hashBytes);
-        }
-        return Base64.encodeToString(signature, Base64.DEFAULT);
+    @ReactMethod
+    public void syncProgress(final Promise promise) {
+        lanes.execute(Lane.NETWORK, "syncProgress", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Context ctx = new Context();
+                    SyncProgress sp = gethHolder.getNode().getEthereumClient().syncProgress(ctx);
+                    if (sp != null) {
+                        WritableMap syncProgress = new WritableNativeMap();
+                        syncProgress.putDouble("startingBlock", sp.getStartingBlock());
+                        syncProgress.putDouble("currentBlock", sp.getCurrentBlock());
+                        syncProgress.putDouble("highestBlock", sp.getHighestBlock());
+                        promise.resolve(syncProgress);
+                        return;
+                    }
+                    // Syncing has either not starter, or has already stopped.
+                    promise.resolve(null);
+                } catch (Exception e) {
+                    promise.reject(SYNC_PROGRESS_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
-     * Signs a hash with an unlocked account
+     * Starts pushing GethSyncProgress events, sampled natively on an interval.
+     * An event is only emitted when currentBlock or highestBlock moved by at least
+     * blockThreshold blocks, plus a final one with syncing false once syncing is done.
      *
-     * @param hashBase64 base64 encoded hash
-     * @param signer the address signing the hash
+     * @param options {intervalMs, blockThreshold}, defaults to 1000 ms and 1 block
      * @param promise Promise
-     * @return return base64 encoded RLP of the signed transaction
+     * @return Return true if started
      */
     @ReactMethod
-    public void signHash(String hashBase64, String signer, Promise promise) {
+    public void startSyncProgressUpdates(ReadableMap options, Promise promise) {
+        promise = metrics.track("startSyncProgressUpdates", promise);
         try {
-            promise.resolve(getHashSignature(hashBase64, signer, null));
+            long intervalMs = 1000;
+            long blockThreshold = 1;
+            if (options.hasKey("intervalMs")) intervalMs = (long) options.getDouble("intervalMs");
+            if (options.hasKey("blockThreshold")) blockThreshold = (long) options.getDouble("blockThreshold");
+            syncProgressSampler.start(intervalMs, blockThreshold);
+            promise.resolve(true);
         } catch (Exception e) {
-            promise.reject(SIGN_HASH_ERROR, e);
+            promise.reject(SYNC_PROGRESS_UPDATES_ERROR, e);
         }
     }
 
     /**
-     * Signs a hash with a passphrase
+     * Stops pushing GethSyncProgress events
      *
-     * @param hashBase64 base64 encoded RLP transaction
-     * @param signer the address signing the transaction
-     * @param passphrase the passphrase to unlock the signer
      * @param promise Promise
-     * @return return base64 encoded RLP of the signed transaction
+     * @return Return true
      */
     @ReactMethod
-    public void signHashPassphrase(String hashBase64, String signer, String passphrase, Promise promise) {
-        try {
-            promise.resolve(getHashSignature(hashBase64, signer, passphrase));
-        } catch (Exception e) {
-            promise.reject(SIGN_HASH_PASSPHRASE_ERROR, e);
-        }
+    public void stopSyncProgressUpdates(Promise promise) {
+        promise = metrics.track("stopSyncProgressUpdates", promise);
+        syncProgressSampler.stop();
+        promise.resolve(true);
     }
 
     /**
-     * Retrieves the nodeInfo
+     * Subscribes to notifications about the current blockchain head,
+     * emitting a GethNewHead event for every header
      *
      * @param promise Promise
-     * @return return a map with node info
+     * @return Return true if subscribed
      */
     @ReactMethod
-    public void getNodeInfo(Promise promise) {
-        WritableMap result = new WritableNativeMap();
-        NodeInfo nodeInfo = gethHolder.getNode().getNodeInfo();
-        result.putString("enode", nodeInfo.getEnode());
-        result.putString("id", nodeInfo.getID());
-        result.putString("ip", nodeInfo.getIP());
-        result.putString("listenerAddress", nodeInfo.getListenerAddress());
-        result.putString("name", nodeInfo.getName());
-        result.putString("protocols", nodeInfo.getProtocols().toString());
-        result.putString("discoveryPort", String.valueOf(nodeInfo.getDiscoveryPort()));
-        result.putString("listenerPort", String.valueOf(nodeInfo.getListenerPort()));
-        promise.resolve(result);
+    public void subscribeNewHead(final Promise promise) {
+        lanes.execute(Lane.NETWORK, "subscribeNewHead", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    subscribeNewHead(HeadDeliveryOptions.every());
+                    promise.resolve(true);
+                } catch (Exception e) {
+                    promise.reject(SUBSCRIBE_NEW_HEAD_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Subscribes to notifications about the current blockchain head, coalescing
+     * headers natively before they are emitted
+     *
+     * @param options {mode: "every" | "latest" | "batch", maxEmitsPerSecond, maxBatchSize,
+     *                fields, byteEncoding: "array" | "hex" | "base64"}
+     *                "latest" emits GethNewHead for the most recent header only and
+     *                "batch" emits GethNewHeads with all headers since the previous emit,
+     *                both at most maxEmitsPerSecond times per second. fields limits the
+     *                header fields emitted and byteEncoding sets how extra and bloom are encoded
+     * @param promise Promise
+     * @return Return true if subscribed
+     */
+    @ReactMethod
+    public void subscribeNewHeadWithOptions(final ReadableMap options, final Promise promise) {
+        lanes.execute(Lane.NETWORK, "subscribeNewHeadWithOptions", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    subscribeNewHead(HeadDeliveryOptions.fromMap(options));
+                    promise.resolve(true);
+                } catch (Exception e) {
+                    promise.reject(SUBSCRIBE_NEW_HEAD_ERROR, e);
+                }
+            }
+        });
+    }
+
+    private void subscribeNewHead(HeadDeliveryOptions options) throws Exception {
+        headDispatcher.setDelivery(options);
+        headDispatcher.subscribe(gethHolder.getNode().getEthereumClient());
+    }
+
+    /**
+     * Stops emitting new head events
+     *
+     * @param promise Promise
+     * @return Return true
+     */
+    @ReactMethod
+    public void unsubscribeNewHead(Promise promise) {
+        promise = metrics.track("unsubscribeNewHead", promise);
+        headDispatcher.setDelivery(null);
+        promise.resolve(true);
+    }
+
+    /**
+     * Watches for addresses and log topics in the bloom of new heads, for the
+     * relevant mode of subscribeNewHeadWithOptions. A watch may match a block
+     * when one of its addresses, if any, and all of its topics are in its bloom.
+     *
+     * @param id      the id reported in GethRelevantHead events, replacing any watch with the same id
+     * @param watch   {addresses: contract addresses, topics: log topics}, in hex
+     * @param promise Promise
+     * @return Return true
+     */
+    @ReactMethod
+    public void addBloomWatch(String id, ReadableMap watch, Promise promise) {
+        promise = metrics.track("addBloomWatch", promise);
+        try {
+            bloomWatchList.add(id,
+                    watch.hasKey("addresses") ? watch.getArray("addresses") : null,
+                    watch.hasKey("topics") ? watch.getArray("topics") : null);
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject(BLOOM_WATCH_ERROR, e);
+        }
+    }
+
+    /**
+     * Stops watching for the addresses and topics of a watch.
+     *
+     * @param id      the id of the watch
+     * @param promise Promise
+     * @return Return true if there was a watch with that id
+     */
+    @ReactMethod
+    public void removeBloomWatch(String id, Promise promise) {
+        promise = metrics.track("removeBloomWatch", promise);
+        promise.resolve(bloomWatchList.remove(id));
+    }
+
+    /**
+     * Removes every bloom watch.
+     *
+     * @param promise Promise
+     * @return Return true
+     */
+    @ReactMethod
+    public void clearBloomWatches(Promise promise) {
+        promise = metrics.track("clearBloomWatches", promise);
+        bloomWatchList.clear();
+        promise.resolve(true);
+    }
+
+    /**
+     * Changes the passphrase of current account.
+     *
+     * @param oldPassphrase Passphrase
+     * @param newPassphrase New passphrase
+     * @param promise       Promise
+     * @return Return true if passphrase changed
+     */
+    @ReactMethod
+    public void updateAccount(final String address, final String oldPassphrase, final String newPassphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "updateAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account account = gethHolder.findAccount(address);
+                    if (account != null) {
+                        gethHolder.getKeyStore().updateAccount(account, oldPassphrase, newPassphrase);
+                        gethHolder.indexAccount(account);
+                        sharedSecretCache.evict(AddressKey.of(account.getAddress()));
+                        promise.resolve(true);
+                    } else {
+                        promise.reject(UPDATE_ACCOUNT_ERROR, "call method setAccount() before");
+                    }
+                } catch (Exception e) {
+                    promise.reject(UPDATE_ACCOUNT_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes the key matched by current account if the passphrase is correct.
+     *
+     * @param passphrase Passphrase
+     * @param promise    Promise
+     * @return Return true if account deleted
+     */
+    @ReactMethod
+    public void deleteAccount(final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "deleteAccount", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getAccount();
+                    if (acc != null) {
+                        gethHolder.getKeyStore().deleteAccount(acc, passphrase);
+                        gethHolder.unindexAccount(acc);
+                        sharedSecretCache.evict(AddressKey.of(acc.getAddress()));
+                        unlockTracker.forget(AddressKey.of(acc.getAddress()));
+                        promise.resolve(true);
+                    } else {
+                        promise.reject(DELETE_ACCOUNT_ERROR,
+                                "call method setAccount('accountId') before");
+                    }
+                } catch (Exception e) {
+                    promise.reject(DELETE_ACCOUNT_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Exports as a JSON key, encrypted with new passphrase.
+     *
+     * @param creationPassphrase Passphrase
+     * @param exportPassphrase   New passphrase
+     * @param promise            Promise
+     * @return Return key string
+     */
+    @ReactMethod
+    public void exportKey(final String creationPassphrase, final String exportPassphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "exportKey", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getAccount();
+                    if (acc != null) {
+                        byte[] key = gethHolder.getKeyStore()
+                                .exportKey(acc, creationPassphrase, exportPassphrase);
+                        promise.resolve(new String(key, "UTF-8"));
+                    } else {
+                        promise.reject(EXPORT_KEY_ERROR, "call method setAccount('accountId') before");
+                    }
+                } catch (Exception e) {
+                    promise.reject(EXPORT_KEY_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stores the given encrypted JSON key into the key directory.
+     *
+     * @param key           JSON key
+     * @param oldPassphrase Passphrase
+     * @param newPassphrase New passphrase
+     * @param promise       Promise
+     * @return Return account object
+     */
+    @ReactMethod
+    public void importKey(final byte[] key, final String oldPassphrase, final String newPassphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "importKey", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getKeyStore().importKey(key, oldPassphrase, newPassphrase);
+                    gethHolder.indexAccount(acc);
+                    promise.resolve(acc);
+                } catch (Exception e) {
+                    promise.reject(IMPORT_KEY_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns all key files present in the directory.
+     * - Break change : methode getAccounts => listAccounts -
+     *
+     * @param promise Promise
+     * @return Return array of accounts objects
+     */
+    @ReactMethod
+    public void listAccounts(final Promise promise) {
+        lanes.execute(Lane.STATE, "listAccounts", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Accounts accounts = gethHolder.getKeyStore().getAccounts();
+                    Long nb = accounts.size();
+                    WritableArray result = new WritableNativeArray();
+                    for (long i = 0; i < nb; i++) {
+                        result.pushString(accounts.get(i).getAddress().getHex());
+                    }
+                    promise.resolve(result);
+                } catch (Exception e) {
+                    promise.reject(GET_ACCOUNTS_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves the currently suggested gas price to allow a timely execution of a transaction.
+     * Served from memory when fetched at the current head and younger than gasPriceMaxAgeMs.
+     *
+     * @param promise Promise
+     * @return Return the suggested gas price in wei, as a decimal string
+     */
+    @ReactMethod
+    public void suggestGasPrice(final Promise promise) {
+        lanes.execute(Lane.NETWORK, "suggestGasPrice", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(gasPriceCache.getGasPrice(gethHolder.getNode().getEthereumClient()));
+                } catch (Exception e) {
+                    promise.reject(SUGGEST_GAS_PRICE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves this account's pending nonce. This is the nonce you should use when creating a
+     * transaction.
+     *
+     * @param promise Promise
+     * @return return Double nonce
+     */
+    @ReactMethod
+    public void getPendingNonce(final Promise promise) {
+        lanes.execute(Lane.NETWORK, "getPendingNonce", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account acc = gethHolder.getAccount();
+                    Context ctx = new Context();
+                    Address address = acc.getAddress();
+                    long nonce = gethHolder.getNode().getEthereumClient().getPendingNonceAt(ctx, address);
+                    promise.resolve((double) nonce);
+                } catch (Exception e) {
+                    promise.reject(GET_NONCE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reserves the next nonce of an address from the local nonce allocator.
+     * Only the first reservation of an address queries its pending nonce, later
+     * ones are handed out locally and reconciled against the network on new heads.
+     *
+     * @param address the address that will send the transaction
+     * @param promise Promise
+     * @return return Double nonce
+     */
+    @ReactMethod
+    public void reserveNonce(final String address, final Promise promise) {
+        lanes.execute(Lane.NETWORK, "reserveNonce", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    long nonce = nonceManager.reserve(gethHolder.getNode().getEthereumClient(),
+                            AddressKey.fromHex(address));
+                    promise.resolve((double) nonce);
+                } catch (Exception e) {
+                    promise.reject(RESERVE_NONCE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Hands back a reserved nonce whose transaction won't be sent, so it's reused
+     *
+     * @param address the address the nonce was reserved for
+     * @param nonce the reserved nonce
+     * @param promise Promise
+     * @return return true if the nonce was reserved
+     */
+    @ReactMethod
+    public void releaseNonce(final String address, final Double nonce, final Promise promise) {
+        lanes.execute(Lane.STATE, "releaseNonce", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(nonceManager.release(AddressKey.fromHex(address), nonce.longValue()));
+                } catch (Exception e) {
+                    promise.reject(RELEASE_NONCE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the local nonce state of an address, its next reservation queries the network again
+     *
+     * @param address the address
+     * @param promise Promise
+     * @return return true
+     */
+    @ReactMethod
+    public void resetNonce(final String address, final Promise promise) {
+        lanes.execute(Lane.STATE, "resetNonce", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    nonceManager.reset(AddressKey.fromHex(address));
+                    promise.resolve(true);
+                } catch (Exception e) {
+                    promise.reject(RESET_NONCE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the signature by either using the passphrase or if null, consider
+     * the account unlocked
+     * @param txRLPBase64 encoded RLP transaction
+     * @param signer the address signing the transaction
+     * @param passphrase the passphrase which unlocks the signer
+     * @throws NoSuchElementException - when no account is found for the signer
+     * @throws Exception - if the passphrase is wrong / signer isn't unlocked
+     * @return return encoded RLP of the signed transaction
+     */
+    private String getTxSignature(String txRLPBase64, String signer, String passphrase) throws Exception {
+        Account account = gethHolder.findAccount(signer);
+        return signTx(account, txRLPBase64, getChainID(), passphrase);
+    }
+
+    private String signTx(Account account, String txRLPBase64, BigInt chainID, String passphrase) throws Exception {
+        return payloadCodec.encode(signTxDecoded(account, txRLPBase64, chainID, passphrase).encodeRLP());
+    }
+
+    private Transaction signTxDecoded(Account account, String txRLPBase64, BigInt chainID, String passphrase) throws Exception {
+        byte[] txRLP = payloadCodec.decode(txRLPBase64);
+        Transaction tx = new Transaction(txRLP);
+        if (passphrase == null) {
+            Lock keyUse = unlockTracker.keyUseLock(AddressKey.of(account.getAddress()));
+            keyUse.lock();
+            try {
+                return gethHolder.getKeyStore().signTx(account, tx, chainID);
+            } finally {
+                keyUse.unlock();
+            }
+        }
+        return gethHolder.getKeyStore().signTxPassphrase(account, passphrase, tx, chainID);
+    }
+
+    private BigInt getChainID() {
+        return new BigInt(gethHolder.getNodeConfig().getEthereumNetworkID());
+    }
+
+    /**
+     * Signs a transaction with an unlocked account
+     *
+     * @param txRLPBase64 encoded RLP transaction
+     * @param signer the address signing the transaction
+     * @param promise Promise
+     * @return return encoded RLP of the signed transaction
+     */
+    @ReactMethod
+    public void signTransaction(final String txRLPBase64, final String signer, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signTransaction", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(getTxSignature(txRLPBase64, signer, null));
+                } catch (Exception e) {
+                    promise.reject(SIGN_TRANSACTION_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs a transaction with a passphrase
+     *
+     * @param txRLPBase64 encoded RLP transaction
+     * @param signer the address signing the transaction
+     * @param passphrase the passphrase which unlocks the signer
+     * @param promise Promise
+     * @return return encoded RLP of the signed transaction
+     */
+    @ReactMethod
+    public void signTransactionPassphrase(final String txRLPBase64, final String signer, final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signTransactionPassphrase", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(getTxSignature(txRLPBase64, signer, passphrase));
+                } catch (Exception e) {
+                    promise.reject(SIGN_TRANSACTION_PASSPHRASE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs a transaction with an unlocked account and queues it for broadcasting,
+     * its progress is reported with GethTransactionStatus events
+     *
+     * @param txRLPBase64 encoded RLP transaction
+     * @param signer the address signing the transaction
+     * @param promise Promise
+     * @return return the hash of the signed transaction
+     */
+    @ReactMethod
+    public void submitTransaction(final String txRLPBase64, final String signer, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "submitTransaction", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account account = gethHolder.findAccount(signer);
+                    Transaction signedTx = signTxDecoded(account, txRLPBase64, getChainID(), null);
+                    promise.resolve(transactionQueue.submit(signedTx, AddressKey.fromHex(signer)));
+                } catch (Exception e) {
+                    promise.reject(SUBMIT_TRANSACTION_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @param promise Promise
+     * @return return the submitted transactions that aren't mined yet,
+     *         [{hash, from, nonce, status, attempts}]
+     */
+    @ReactMethod
+    public void getPendingTransactions(final Promise promise) {
+        lanes.execute(Lane.STATE, "getPendingTransactions", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(transactionQueue.getPending());
+                } catch (Exception e) {
+                    promise.reject(PENDING_TRANSACTIONS_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the hash signature either by using the passphrase if it's provided
+     * or by relying on the account being unlocked
+     * @param hashBase64 encoded hash
+     * @param signer the address signing the hash
+     * @param passphrase (optional) the passphrase to unlock the account
+     * @throws NoSuchElementException - when no account is found for the signer
+     * @throws Exception - if the passphrase is wrong / signer isn't unlocked
+     * @return The encoded signature
+     */
+    private String getHashSignature(String hashBase64, String signer, String passphrase) throws Exception {
+        Account account = gethHolder.findAccount(signer);
+        return signHash(account, hashBase64, passphrase);
+    }
+
+    private String signHash(Account account, String hashBase64, String passphrase) throws Exception {
+        byte[] hashBytes = payloadCodec.decode(hashBase64);
+        byte[] signature;
+        if (passphrase == null) {
+            Lock keyUse = unlockTracker.keyUseLock(AddressKey.of(account.getAddress()));
+            keyUse.lock();
+            try {
+                signature = gethHolder.getKeyStore().signHash(account.getAddress(), hashBytes);
+            } finally {
+                keyUse.unlock();
+            }
+        } else {
+            signature = gethHolder.getKeyStore().signHashPassphrase(account, passphrase, hashBytes);
+        }
+        return payloadCodec.encode(signature);
+    }
+
+    /**
+     * Signs a hash with an unlocked account
+     *
+     * @param hashBase64 encoded hash
+     * @param signer the address signing the hash
+     * @param promise Promise
+     * @return return encoded RLP of the signed transaction
+     */
+    @ReactMethod
+    public void signHash(final String hashBase64, final String signer, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signHash", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(getHashSignature(hashBase64, signer, null));
+                } catch (Exception e) {
+                    promise.reject(SIGN_HASH_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs a hash with a passphrase
+     *
+     * @param hashBase64 encoded RLP transaction
+     * @param signer the address signing the transaction
+     * @param passphrase the passphrase to unlock the signer
+     * @param promise Promise
+     * @return return encoded RLP of the signed transaction
+     */
+    @ReactMethod
+    public void signHashPassphrase(final String hashBase64, final String signer, final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signHashPassphrase", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(getHashSignature(hashBase64, signer, passphrase));
+                } catch (Exception e) {
+                    promise.reject(SIGN_HASH_PASSPHRASE_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs a batch of transactions or hashes for one signer.
+     * The signer and chain ID are resolved once, and with a passphrase the signer
+     * is unlocked once for the whole batch, unless it already is, and is left as
+     * it was before right after. No other call can use the signer's key while
+     * the batch has it unlocked, see {@link UnlockTracker#runUnlocked}.
+     *
+     * @param payloads encoded RLP transactions or hashes
+     * @param signer the address signing the payloads
+     * @param passphrase the passphrase which unlocks the signer, or null if already unlocked
+     * @param hashes whether the payloads are hashes rather than transactions
+     * @throws NoSuchElementException - when no account is found for the signer
+     * @throws Exception - if the passphrase is wrong
+     * @return return an array of {result, error} maps, in the order of the payloads
+     */
+    private WritableArray signBatch(final ReadableArray payloads, String signer, String passphrase, final boolean hashes) throws Exception {
+        final Account account = gethHolder.findAccount(signer);
+        final BigInt chainID = hashes ? null : getChainID();
+        Callable<WritableArray> batch = new Callable<WritableArray>() {
+            @Override
+            public WritableArray call() {
+                WritableArray results = new WritableNativeArray();
+                int size = payloads.size();
+                for (int i = 0; i < size; i++) {
+                    WritableMap item = new WritableNativeMap();
+                    try {
+                        String payload = payloads.getString(i);
+                        item.putString("result", hashes
+                                ? signHash(account, payload, null)
+                                : signTx(account, payload, chainID, null));
+                        item.putNull("error");
+                    } catch (Exception e) {
+                        item.putNull("result");
+                        item.putString("error", String.valueOf(e.getMessage()));
+                    }
+                    results.pushMap(item);
+                }
+                return results;
+            }
+        };
+        if (passphrase == null) {
+            return batch.call();
+        }
+        return unlockTracker.runUnlocked(gethHolder.getKeyStore(), account, passphrase, batch);
+    }
+
+    /**
+     * Signs several transactions with an unlocked account
+     *
+     * @param txRLPBase64s encoded RLP transactions
+     * @param signer the address signing the transactions
+     * @param promise Promise
+     * @return return an array of {result, error} maps with the encoded RLP of each signed transaction
+     */
+    @ReactMethod
+    public void signTransactions(final ReadableArray txRLPBase64s, final String signer, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signTransactions", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(signBatch(txRLPBase64s, signer, null, false));
+                } catch (Exception e) {
+                    promise.reject(SIGN_TRANSACTIONS_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs several transactions with a passphrase, unlocking the signer once
+     *
+     * @param txRLPBase64s encoded RLP transactions
+     * @param signer the address signing the transactions
+     * @param passphrase the passphrase which unlocks the signer
+     * @param promise Promise
+     * @return return an array of {result, error} maps with the encoded RLP of each signed transaction
+     */
+    @ReactMethod
+    public void signTransactionsPassphrase(final ReadableArray txRLPBase64s, final String signer, final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signTransactionsPassphrase", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(signBatch(txRLPBase64s, signer, passphrase, false));
+                } catch (Exception e) {
+                    promise.reject(SIGN_TRANSACTIONS_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs several hashes with an unlocked account
+     *
+     * @param hashBase64s encoded hashes
+     * @param signer the address signing the hashes
+     * @param promise Promise
+     * @return return an array of {result, error} maps with the encoded signature of each hash
+     */
+    @ReactMethod
+    public void signHashes(final ReadableArray hashBase64s, final String signer, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signHashes", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(signBatch(hashBase64s, signer, null, true));
+                } catch (Exception e) {
+                    promise.reject(SIGN_HASHES_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Signs several hashes with a passphrase, unlocking the signer once
+     *
+     * @param hashBase64s encoded hashes
+     * @param signer the address signing the hashes
+     * @param passphrase the passphrase which unlocks the signer
+     * @param promise Promise
+     * @return return an array of {result, error} maps with the encoded signature of each hash
+     */
+    @ReactMethod
+    public void signHashesPassphrase(final ReadableArray hashBase64s, final String signer, final String passphrase, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "signHashesPassphrase", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(signBatch(hashBase64s, signer, passphrase, true));
+                } catch (Exception e) {
+                    promise.reject(SIGN_HASHES_ERROR, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves the nodeInfo
+     *
+     * @param promise Promise
+     * @return return a map with node info
+     */
+    @ReactMethod
+    public void getNodeInfo(final Promise promise) {
+        lanes.execute(Lane.STATE, "getNodeInfo", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                WritableMap result = new WritableNativeMap();
+                NodeInfo nodeInfo = gethHolder.getNode().getNodeInfo();
+                result.putString("enode", nodeInfo.getEnode());
+                result.putString("id", nodeInfo.getID());
+                result.putString("ip", nodeInfo.getIP());
+                result.putString("listenerAddress", nodeInfo.getListenerAddress());
+                result.putString("name", nodeInfo.getName());
+                result.putString("protocols", nodeInfo.getProtocols().toString());
+                result.putString("discoveryPort", String.valueOf(nodeInfo.getDiscoveryPort()));
+                result.putString("listenerPort", String.valueOf(nodeInfo.getListenerPort()));
+                promise.resolve(result);
+            }
+        });
     }
 
     /**
      * Computes an ECDH shared secret between the user's private key and another user's public key
+     * Recently computed secrets are answered from memory, see {@link SharedSecretCache}.
      *
      * @param address the address of the user
      * @param publicKey another user's public key
@@ -692,16 +1649,37 @@ public class RNGethModule extends ReactContextBaseJavaModule {
      * @return return a shared secret
      */
     @ReactMethod
-    public void computeSharedSecret(String address, String publicKeyBase64, Promise promise) {
-      try{
-        Account account = gethHolder.findAccount(address);
-        byte[] publicKey = Base64.decode(publicKeyBase64, Base64.DEFAULT);
-        byte[] secret = gethHolder.getKeyStore().computeECDHSharedSecret(account, publicKey);
-        promise.resolve(Base64.encodeToString(secret, Base64.DEFAULT));
-      } catch (Exception e){
-        promise.reject(COMPUTE_SHARED_SECRET_ERROR, e);
-      }
-        
+    public void computeSharedSecret(final String address, final String publicKeyBase64, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "computeSharedSecret", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    AddressKey key = AddressKey.fromHex(address);
+                    byte[] publicKey = payloadCodec.decode(publicKeyBase64);
+                    byte[] secret = null;
+                    Lock keyUse = unlockTracker.keyUseLock(key);
+                    keyUse.lock();
+                    try {
+                        if (unlockTracker.isUnlocked(key)) {
+                            secret = sharedSecretCache.get(key, publicKey);
+                        } else {
+                            // Locked again since caching, the key store has to refuse it
+                            sharedSecretCache.evict(key);
+                        }
+                        if (secret == null) {
+                            Account account = gethHolder.findAccount(address);
+                            secret = gethHolder.getKeyStore().computeECDHSharedSecret(account, publicKey);
+                            sharedSecretCache.put(key, publicKey, secret);
+                        }
+                    } finally {
+                        keyUse.unlock();
+                    }
+                    promise.resolve(payloadCodec.encode(secret));
+                } catch (Exception e) {
+                    promise.reject(COMPUTE_SHARED_SECRET_ERROR, e);
+                }
+            }
+        });
     }
 
     /**
@@ -713,51 +1691,137 @@ public class RNGethModule extends ReactContextBaseJavaModule {
      * @return return the decrypted text
      */
     @ReactMethod
-    public void decrypt(String address, String cipherBase64, Promise promise) {
-      try{
-        Account account = gethHolder.findAccount(address);
-        byte[] cipher = Base64.decode(cipherBase64, Base64.DEFAULT);
-        byte[] text = gethHolder.getKeyStore().decrypt(account, cipher);
-        promise.resolve(Base64.encodeToString(text, Base64.DEFAULT));
-      } catch (Exception e){
-        promise.reject(DECRYPT_ERROR, e);
-      }
-        
+    public void decrypt(final String address, final String cipherBase64, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "decrypt", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    Account account = gethHolder.findAccount(address);
+                    byte[] cipher = payloadCodec.decode(cipherBase64);
+                    byte[] text;
+                    Lock keyUse = unlockTracker.keyUseLock(AddressKey.of(account.getAddress()));
+                    keyUse.lock();
+                    try {
+                        text = gethHolder.getKeyStore().decrypt(account, cipher);
+                    } finally {
+                        keyUse.unlock();
+                    }
+                    promise.resolve(payloadCodec.encode(text));
+                } catch (Exception e) {
+                    promise.reject(DECRYPT_ERROR, e);
+                }
+            }
+        });
     }
 
+
+    /**
+     * Decrypts several ECIES ciphertexts of one account, in parallel on up to
+     * one thread per core. The account is resolved once for the whole batch.
+     *
+     * @param address the address of the user
+     * @param ciphers the ciphers to be decrypted
+     * @param promise Promise
+     * @return return an array of {result, error} maps with each decrypted text, in the order of the ciphers
+     */
+    @ReactMethod
+    public void decryptBatch(final String address, final ReadableArray ciphers, final Promise promise) {
+        lanes.execute(Lane.CRYPTO, "decryptBatch", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    final Account account = gethHolder.findAccount(address);
+                    final KeyStore keyStore = gethHolder.getKeyStore();
+                    final PayloadCodec codec = payloadCodec;
+                    int size = ciphers.size();
+                    List<Callable<String>> decryptions = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        final String cipher = ciphers.getString(i);
+                        decryptions.add(new Callable<String>() {
+                            @Override
+                            public String call() throws Exception {
+                                return codec.encode(keyStore.decrypt(account, codec.decode(cipher)));
+                            }
+                        });
+                    }
+                    List<Future<String>> decrypted;
+                    // Held for the workers, which decrypt in parallel under it
+                    Lock keyUse = unlockTracker.keyUseLock(AddressKey.of(account.getAddress()));
+                    keyUse.lock();
+                    try {
+                        decrypted = kdfWorkers.invokeAll(decryptions);
+                    } finally {
+                        keyUse.unlock();
+                    }
+                    WritableArray results = new WritableNativeArray();
+                    for (Future<String> text : decrypted) {
+                        WritableMap item = new WritableNativeMap();
+                        try {
+                            item.putString("result", text.get());
+                            item.putNull("error");
+                        } catch (ExecutionException e) {
+                            item.putNull("result");
+                            item.putString("error", String.valueOf(e.getCause().getMessage()));
+                        }
+                        results.pushMap(item);
+                    }
+                    promise.resolve(results);
+                } catch (Exception e) {
+                    promise.reject(DECRYPT_BATCH_ERROR, e);
+                }
+            }
+        });
+    }
     /**
-     * Retrieves the peersInfo
+     * Retrieves the peersInfo, from the peer watcher's snapshot while it's running
      *
      * @param promise Promise
      * @return return an array of maps with peer info
      */
     @ReactMethod
-    public void getPeerInfos(Promise promise) {
-        PeerInfos peerInfos = gethHolder.getNode().getPeerInfos();
-        long peersSize = peerInfos.size();
-
-        WritableArray result = new WritableNativeArray();
-        for (long i = 0; i < peersSize; i++) {
-            try {
-                PeerInfo peerInfo = peerInfos.get(i);
-
-                WritableMap peerMap = new WritableNativeMap();
-                peerMap.putString("id", peerInfo.getID());
-                peerMap.putString("name", peerInfo.getName());
-                peerMap.putString("caps", peerInfo.getCaps().toString());
-                peerMap.putString("enode", peerInfo.getEnode());
-                peerMap.putString("purposes", peerInfo.getPurposes());
-                peerMap.putString("localAddress", peerInfo.getLocalAddress());
-                peerMap.putString("remoteAddress", peerInfo.getRemoteAddress());
-                result.pushMap(peerMap);
-            } catch (Exception e) {
-                // The only possible error is to have an out of bound. Which will not happen
-                // because we are iterating using the size
-                promise.reject(PEERS_INFO_ERROR, e);
+    public void getPeerInfos(final Promise promise) {
+        lanes.execute(Lane.STATE, "getPeerInfos", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    promise.resolve(PeerWatcher.toArray(peerWatcher.getPeers(gethHolder.getNode())));
+                } catch (Exception e) {
+                    promise.reject(PEERS_INFO_ERROR, e);
+                }
             }
+        });
+    }
+
+    /**
+     * Starts watching the connected peers, emitting GethPeerAdded and GethPeerRemoved
+     * events with the peers that changed since the previous poll
+     *
+     * @param intervalMs time between two polls of the node
+     * @param promise Promise
+     * @return return true if started
+     */
+    @ReactMethod
+    public void startPeerUpdates(Double intervalMs, Promise promise) {
+        promise = metrics.track("startPeerUpdates", promise);
+        try {
+            peerWatcher.start(intervalMs.longValue());
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject(PEERS_INFO_ERROR, e);
         }
+    }
 
-        promise.resolve(result);
+    /**
+     * Stops watching the connected peers
+     *
+     * @param promise Promise
+     * @return return true
+     */
+    @ReactMethod
+    public void stopPeerUpdates(Promise promise) {
+        promise = metrics.track("stopPeerUpdates", promise);
+        peerWatcher.stop();
+        promise.resolve(true);
     }
 
     /**
@@ -767,19 +1831,185 @@ public class RNGethModule extends ReactContextBaseJavaModule {
      * @return return a map with node stats
      */
     @ReactMethod
-    public void getGethStats(Promise promise) {
-        try {            
-            WritableMap result = new WritableNativeMap();
-            Stats stats = gethHolder.getNode().getGethStats();
-            
-            Strings statKeys = stats.getStatsKeys();
-            for(int i = 0; i < statKeys.size(); i++) {
-                String key = statKeys.get(i);
-                result.putString(key, stats.getValue(key));
+    public void getGethStats(final Promise promise) {
+        lanes.execute(Lane.STATE, "getGethStats", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {            
+                    WritableMap result = new WritableNativeMap();
+                    Stats stats = gethHolder.getNode().getGethStats();
+
+                    Strings statKeys = stats.getStatsKeys();
+                    for(int i = 0; i < statKeys.size(); i++) {
+                        String key = statKeys.get(i);
+                        result.putString(key, stats.getValue(key));
+                    }
+                    promise.resolve(result);
+                } catch (Exception e) {
+                    promise.reject(GETH_STATS_ERROR, e);
+                }
             }
-            promise.resolve(result);
+        });
+    }
+
+    /**
+     * Starts sampling the node Stats in the background, keeping the numeric
+     * values in a ring buffer per key
+     *
+     * @param options {periodMs, capacity}, defaults to 1000 ms and 600 samples per key
+     * @param promise Promise
+     * @return return true if started
+     */
+    @ReactMethod
+    public void startGethStatsSampler(ReadableMap options, Promise promise) {
+        promise = metrics.track("startGethStatsSampler", promise);
+        try {
+            long periodMs = 1000;
+            int capacity = StatsSampler.DEFAULT_CAPACITY;
+            if (options.hasKey("periodMs")) periodMs = (long) options.getDouble("periodMs");
+            if (options.hasKey("capacity")) capacity = options.getInt("capacity");
+            statsSampler.start(periodMs, capacity);
+            promise.resolve(true);
         } catch (Exception e) {
             promise.reject(GETH_STATS_ERROR, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Stops sampling the node Stats, the samples taken so far are kept
+     *
+     * @param promise Promise
+     * @return return true
+     */
+    @ReactMethod
+    public void stopGethStatsSampler(Promise promise) {
+        promise = metrics.track("stopGethStatsSampler", promise);
+        statsSampler.stop();
+        promise.resolve(true);
+    }
+
+    /**
+     * Summarizes the sampled node Stats over a window
+     *
+     * @param key the stat to summarize, or null for all of them
+     * @param windowMs how far back to look, 0 for every sample kept
+     * @param promise Promise
+     * @return return a map of stat to {min, max, mean, last, count}
+     */
+    @ReactMethod
+    public void getGethStatsSummary(final String key, final Double windowMs, final Promise promise) {
+        lanes.execute(Lane.STATE, "getGethStatsSummary", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                promise.resolve(statsSampler.summarize(key, windowMs.longValue()));
+            }
+        });
+    }
+
+    /**
+     * Retrieves every sample kept for one node stat
+     *
+     * @param key the stat
+     * @param promise Promise
+     * @return return {times, values}, oldest first, times in milliseconds since the epoch
+     */
+    @ReactMethod
+    public void getGethStatsSeries(final String key, final Promise promise) {
+        lanes.execute(Lane.STATE, "getGethStatsSeries", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                promise.resolve(statsSampler.getSeries(key));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the latency, call count and errors of every bridge method called so far.
+     * Latencies run from the call reaching the module to its promise settling.
+     *
+     * @param promise Promise
+     * @return return a map of method name to {calls, errors, errorsByCode, p50Ms, p90Ms, p99Ms, maxMs}
+     */
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        promise = metrics.track("getMetrics", promise);
+        promise.resolve(metrics.toMap());
+    }
+
+    /**
+     * Forgets the bridge method metrics recorded so far
+     *
+     * @param promise Promise
+     * @return return true
+     */
+    @ReactMethod
+    public void resetMetrics(Promise promise) {
+        metrics.reset();
+        // Tracked after the reset, so the call counts in the new metrics
+        promise = metrics.track("resetMetrics", promise);
+        promise.resolve(true);
+    }
+
+    /**
+     * Starts emitting the bridge method metrics as GethMetrics events
+     *
+     * @param intervalMs time between two events
+     * @param promise Promise
+     * @return return true if started
+     */
+    @ReactMethod
+    public void startMetricsUpdates(Double intervalMs, Promise promise) {
+        promise = metrics.track("startMetricsUpdates", promise);
+        try {
+            metrics.startUpdates(intervalMs.longValue());
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject(METRICS_ERROR, e);
+        }
+    }
+
+    /**
+     * Stops emitting GethMetrics events
+     *
+     * @param promise Promise
+     * @return return true
+     */
+    @ReactMethod
+    public void stopMetricsUpdates(Promise promise) {
+        promise = metrics.track("stopMetricsUpdates", promise);
+        metrics.stopUpdates();
+        promise.resolve(true);
+    }
+
+    /**
+     * Reads the lines the node logged since a cursor, across log file rotations
+     *
+     * @param options {cursor, level, contains, maxBytes}: cursor is the one returned
+     *                by the previous read, or null to start from the oldest segment,
+     *                level the most verbose level returned (0 crit to 5 trace),
+     *                contains a substring lines must contain, and maxBytes how much
+     *                of the file to scan at most, 256 KB by default
+     * @param promise Promise
+     * @return return {lines, cursor, more, missed}
+     */
+    @ReactMethod
+    public void readLog(final ReadableMap options, final Promise promise) {
+        lanes.execute(Lane.STATE, "readLog", promise, new Call() {
+            @Override
+            public void run(Promise promise) {
+                try {
+                    String cursor = options.hasKey("cursor") && !options.isNull("cursor")
+                            ? options.getString("cursor") : null;
+                    int level = options.hasKey("level") ? options.getInt("level") : -1;
+                    String contains = options.hasKey("contains") && !options.isNull("contains")
+                            ? options.getString("contains") : null;
+                    int maxBytes = options.hasKey("maxBytes")
+                            ? options.getInt("maxBytes") : NodeLogFile.DEFAULT_READ_BYTES;
+                    promise.resolve(nodeLogFile.read(cursor, level, contains, maxBytes));
+                } catch (Exception e) {
+                    promise.reject(READ_LOG_ERROR, e);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.reactnativegeth;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used ECDH shared secrets, keyed by account and peer public key.
+ * A hit skips both the account lookup and the scalar multiplication. Secrets
+ * only live in memory and are wiped when evicted; the entries of an account
+ * are dropped when its key is deleted or re-encrypted, and all of them when
+ * the key store is replaced.
+ *
+ * Entries don't track whether their account is still unlocked, callers only
+ * serve a hit while {@link UnlockTracker} reports the account unlocked.
+ */
+class SharedSecretCache {
+    static final int DEFAULT_CAPACITY = 64;
+
+    private static final class Key {
+        final AddressKey account;
+        final byte[] publicKey;
+        final int hash;
+
+        Key(AddressKey account, byte[] publicKey) {
+            this.account = account;
+            this.publicKey = publicKey;
+            this.hash = 31 * account.hashCode() + Arrays.hashCode(publicKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return account.equals(other.account) && Arrays.equals(publicKey, other.publicKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private int capacity = DEFAULT_CAPACITY;
+    // Access ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<Key, byte[]> entries = new LinkedHashMap<Key, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+            if (size() <= capacity) return false;
+            Arrays.fill(eldest.getValue(), (byte) 0);
+            return true;
+        }
+    };
+
+    /**
+     * Sets how many secrets are kept, dropping the least recently used ones beyond it.
+     *
+     * @param capacity the maximum number of secrets, 0 to disable the cache
+     */
+    synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("sharedSecretCacheSize must not be negative");
+        }
+        this.capacity = capacity;
+        Iterator<byte[]> it = entries.values().iterator();
+        while (entries.size() > capacity && it.hasNext()) {
+            Arrays.fill(it.next(), (byte) 0);
+            it.remove();
+        }
+    }
+
+    /**
+     * @param account   the account
+     * @param publicKey the peer public key
+     * @return a copy of the cached secret, or null
+     */
+    synchronized byte[] get(AddressKey account, byte[] publicKey) {
+        byte[] secret = entries.get(new Key(account, publicKey));
+        return secret != null ? secret.clone() : null;
+    }
+
+    synchronized void put(AddressKey account, byte[] publicKey, byte[] secret) {
+        if (capacity == 0) return;
+        byte[] previous = entries.put(new Key(account, publicKey.clone()), secret.clone());
+        if (previous != null) Arrays.fill(previous, (byte) 0);
+    }
+
+    /**
+     * Drops the secrets of an account.
+     *
+     * @param account the account
+     */
+    synchronized void evict(AddressKey account) {
+        Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, byte[]> entry = it.next();
+            if (entry.getKey().account.equals(account)) {
+                Arrays.fill(entry.getValue(), (byte) 0);
+                it.remove();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        for (byte[] secret : entries.values()) {
+            Arrays.fill(secret, (byte) 0);
+        }
+        entries.clear();
+    }
+}
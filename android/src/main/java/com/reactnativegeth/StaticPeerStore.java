@@ -0,0 +1,274 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import org.ethereum.geth.PeerInfo;
+import org.ethereum.geth.PeerInfos;
+import org.json.JSONArray;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains static-nodes.json from real connectivity, so a cold start dials
+ * known-good peers first instead of waiting on discovery.
+ *
+ * Peers are scored from samples of the connected peers: every sample a peer
+ * is connected in adds a point, every sample it's missing halves its score.
+ * The best scored peers that stayed connected for a few samples are written
+ * after the configured enodes, and the file is only rewritten (atomically,
+ * through a temp file and a rename) when that list changes.
+ *
+ * The learned peers are also kept in a file of their own, which is what a
+ * later run reads back, so enodes removed from the config don't come back as
+ * learned peers.
+ */
+class StaticPeerStore {
+    private static final String TAG = "RNGeth";
+    static final int DEFAULT_CAPACITY = 8;
+    private static final long SAMPLE_INTERVAL_MS = 60 * 1000;
+    // Samples a peer must have been seen in before it's written
+    private static final double MIN_SCORE = 3;
+    private static final double MAX_SCORE = 100;
+    // Scores below this are forgotten
+    private static final double DROP_SCORE = 0.5;
+    // Peers scored at a time, beyond the ones written
+    private static final int TRACKED_PER_WRITTEN = 4;
+
+    private final File file;
+    private final File learnedFile;
+    private final List<String> configured = new ArrayList<>();
+    private final Map<String, Double> scores = new HashMap<>();
+    // Contents of the two files, null until they're read back
+    private List<String> written;
+    private List<String> writtenLearned;
+    private int capacity = DEFAULT_CAPACITY;
+
+    private final GethHolder gethHolder;
+    private final ScheduledExecutorService scheduler;
+
+    StaticPeerStore(GethHolder gethHolder, File file) {
+        this.gethHolder = gethHolder;
+        this.file = file;
+        this.learnedFile = new File(file.getParentFile(), "learned-nodes.json");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethPeerStore");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }, SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void sample() {
+        // Only the default instance's node reads the file, standby nodes may be on another network
+        GethHolder.NodeInstance instance = gethHolder.getDefaultInstance();
+        if (instance.getState() != GethHolder.NodeState.STARTED) return;
+        try {
+            record(instance.getNode().getPeerInfos());
+        } catch (Exception e) {
+            Log.w(TAG, "Failed sampling peers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param capacity how many learned peers are written, 0 only writes the configured enodes
+     */
+    synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Peer cache size must not be negative");
+        }
+        this.capacity = capacity;
+        load();
+        persist();
+    }
+
+    /**
+     * Sets the enodes from the config, which always come first in the file.
+     * Each one is written as its own entry. Peers learned by a previous run are
+     * read back and kept.
+     *
+     * @param enodes comma separated enode URLs
+     */
+    synchronized void setConfiguredEnodes(String enodes) {
+        configured.clear();
+        for (String enode : enodes.split(",")) {
+            enode = enode.trim();
+            if (!enode.isEmpty()) configured.add(enode);
+        }
+        load();
+        persist();
+    }
+
+    /**
+     * Reads back the peers a previous run learned, once.
+     */
+    private void load() {
+        if (written != null) return;
+        written = read(file);
+        writtenLearned = read(learnedFile);
+        for (String enode : writtenLearned) {
+            if (!scores.containsKey(enode)) {
+                scores.put(enode, MIN_SCORE);
+            }
+        }
+    }
+
+    /**
+     * Scores the currently connected peers and rewrites the file if the best ones changed.
+     *
+     * @param peerInfos the connected peers
+     * @throws Exception - if the peers can't be read
+     */
+    synchronized void record(PeerInfos peerInfos) throws Exception {
+        Set<String> connected = new HashSet<>();
+        long size = peerInfos.size();
+        for (long i = 0; i < size; i++) {
+            PeerInfo peerInfo = peerInfos.get(i);
+            String enode = peerInfo.getEnode();
+            if (enode != null && !enode.isEmpty()) connected.add(enode);
+        }
+        record(connected);
+    }
+
+    synchronized void record(Set<String> connected) {
+        load();
+        for (String enode : connected) {
+            Double score = scores.get(enode);
+            scores.put(enode, Math.min(MAX_SCORE, score == null ? 1 : score + 1));
+        }
+        List<String> forgotten = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            if (connected.contains(entry.getKey())) continue;
+            double score = entry.getValue() / 2;
+            if (score < DROP_SCORE) {
+                forgotten.add(entry.getKey());
+            } else {
+                entry.setValue(score);
+            }
+        }
+        for (String enode : forgotten) {
+            scores.remove(enode);
+        }
+        List<String> ranked = ranked();
+        int tracked = Math.max(capacity, 1) * TRACKED_PER_WRITTEN;
+        for (int i = tracked; i < ranked.size(); i++) {
+            scores.remove(ranked.get(i));
+        }
+        persist();
+    }
+
+    private List<String> ranked() {
+        List<String> ranked = new ArrayList<>(scores.keySet());
+        Collections.sort(ranked, new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                return Double.compare(scores.get(b), scores.get(a));
+            }
+        });
+        return ranked;
+    }
+
+    private void persist() {
+        Set<String> nodes = new LinkedHashSet<>(configured);
+        List<String> learned = new ArrayList<>();
+        for (String enode : ranked()) {
+            if (learned.size() >= capacity || scores.get(enode) < MIN_SCORE) break;
+            if (nodes.add(enode)) learned.add(enode);
+        }
+        List<String> next = new ArrayList<>(nodes);
+        try {
+            if (!learned.equals(writtenLearned) || !learnedFile.exists()) {
+                write(learnedFile, learned);
+                writtenLearned = learned;
+            }
+            if (!next.equals(written) || !file.exists()) {
+                write(file, next);
+                written = next;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed writing static nodes: " + e.getMessage());
+        }
+    }
+
+    private static void write(File file, List<String> nodes) throws IOException {
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+        JSONArray staticNodes = new JSONArray();
+        for (String enode : nodes) {
+            staticNodes.put(enode);
+        }
+        File tmp = new File(dir, file.getName() + ".tmp");
+        FileOutputStream out = new FileOutputStream(tmp);
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+            writer.write(staticNodes.toString());
+            writer.flush();
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            throw new IOException("Could not rename " + tmp + " to " + file);
+        }
+    }
+
+    private static List<String> read(File file) {
+        List<String> nodes = new ArrayList<>();
+        if (!file.exists()) return nodes;
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                byte[] content = new byte[(int) file.length()];
+                int read = 0;
+                while (read < content.length) {
+                    int n = in.read(content, read, content.length - read);
+                    if (n < 0) break;
+                    read += n;
+                }
+                JSONArray staticNodes = new JSONArray(new String(content, 0, read, "UTF-8"));
+                for (int i = 0; i < staticNodes.length(); i++) {
+                    nodes.add(staticNodes.getString(i));
+                }
+            } finally {
+                in.close();
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Ignoring unreadable static nodes file: " + e.getMessage());
+        }
+        return nodes;
+    }
+}
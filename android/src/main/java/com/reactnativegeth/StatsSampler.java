@@ -0,0 +1,230 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Stats;
+import org.ethereum.geth.Strings;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the node's geth stats on a period and keeps the numeric ones in a
+ * fixed-size ring buffer per key, so trends can be queried without polling
+ * from JS. Values that don't start with a number are skipped.
+ */
+class StatsSampler {
+    private static final String TAG = "RNGeth";
+    static final int DEFAULT_CAPACITY = 600;
+
+    /**
+     * The latest samples of one key, oldest overwritten first.
+     */
+    static final class Series {
+        final long[] times;
+        final double[] values;
+        // Index the next sample is written at
+        int next;
+        int count;
+
+        Series(int capacity) {
+            times = new long[capacity];
+            values = new double[capacity];
+        }
+
+        void add(long time, double value) {
+            times[next] = time;
+            values[next] = value;
+            next = (next + 1) % times.length;
+            if (count < times.length) count++;
+        }
+
+        /**
+         * @param i 0 for the oldest sample kept
+         * @return the position of the i-th sample in the arrays
+         */
+        int index(int i) {
+            return (next - count + i + times.length) % times.length;
+        }
+    }
+
+    private final GethHolder gethHolder;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, Series> series = new HashMap<>();
+    private ScheduledFuture<?> task;
+    private int capacity = DEFAULT_CAPACITY;
+
+    StatsSampler(GethHolder gethHolder) {
+        this.gethHolder = gethHolder;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethStats");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Starts sampling, replacing a running sampler. Changing the capacity drops the samples kept so far.
+     *
+     * @param periodMs time between two samples
+     * @param capacity samples kept per key
+     */
+    synchronized void start(long periodMs, int capacity) {
+        if (periodMs <= 0) {
+            throw new IllegalArgumentException("periodMs must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        stop();
+        if (capacity != this.capacity) {
+            series.clear();
+            this.capacity = capacity;
+        }
+        task = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sample();
+            }
+        }, 0, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    void shutdown() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    private void sample() {
+        if (!gethHolder.getNodeStarted()) return;
+        long now = System.currentTimeMillis();
+        try {
+            Stats stats = gethHolder.getNode().getGethStats();
+            Strings keys = stats.getStatsKeys();
+            long size = keys.size();
+            for (long i = 0; i < size; i++) {
+                String key = keys.get(i);
+                double value = parse(stats.getValue(key));
+                if (Double.isNaN(value)) continue;
+                record(key, now, value);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed sampling geth stats: " + e.getMessage());
+        }
+    }
+
+    synchronized void record(String key, long time, double value) {
+        Series s = series.get(key);
+        if (s == null) {
+            s = new Series(capacity);
+            series.put(key, s);
+        }
+        s.add(time, value);
+    }
+
+    /**
+     * Parses the leading number of a stat value, e.g. "12.5" or "300 peers".
+     *
+     * @param value the stat value
+     * @return the number, or NaN if the value doesn't start with one
+     */
+    static double parse(String value) {
+        if (value == null) return Double.NaN;
+        String trimmed = value.trim();
+        int end = 0;
+        while (end < trimmed.length()) {
+            char c = trimmed.charAt(end);
+            if ((c >= '0' && c <= '9') || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E') {
+                end++;
+            } else {
+                break;
+            }
+        }
+        try {
+            return end == 0 ? Double.NaN : Double.parseDouble(trimmed.substring(0, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Summarizes the samples of the last windowMs, per key.
+     *
+     * @param key      the key to summarize, or null for all of them
+     * @param windowMs how far back to look, 0 for every sample kept
+     * @return a map of key to {min, max, mean, last, count}
+     */
+    synchronized WritableMap summarize(String key, long windowMs) {
+        WritableMap result = new WritableNativeMap();
+        long since = windowMs > 0 ? System.currentTimeMillis() - windowMs : Long.MIN_VALUE;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            if (key != null && !key.equals(entry.getKey())) continue;
+            Series s = entry.getValue();
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            double last = Double.NaN;
+            int count = 0;
+            for (int i = 0; i < s.count; i++) {
+                int idx = s.index(i);
+                if (s.times[idx] < since) continue;
+                double v = s.values[idx];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+                sum += v;
+                last = v;
+                count++;
+            }
+            if (count == 0) continue;
+            WritableMap summary = new WritableNativeMap();
+            summary.putDouble("min", min);
+            summary.putDouble("max", max);
+            summary.putDouble("mean", sum / count);
+            summary.putDouble("last", last);
+            summary.putInt("count", count);
+            result.putMap(entry.getKey(), summary);
+        }
+        return result;
+    }
+
+    /**
+     * @param key the key
+     * @return {times, values} with every sample kept for the key, oldest first,
+     * times in milliseconds since the epoch
+     */
+    synchronized WritableMap getSeries(String key) {
+        WritableArray times = new WritableNativeArray();
+        WritableArray values = new WritableNativeArray();
+        Series s = series.get(key);
+        if (s != null) {
+            for (int i = 0; i < s.count; i++) {
+                int idx = s.index(i);
+                times.pushDouble(s.times[idx]);
+                values.pushDouble(s.values[idx]);
+            }
+        }
+        WritableMap result = new WritableNativeMap();
+        result.putArray("times", times);
+        result.putArray("values", values);
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Context;
+import org.ethereum.geth.SyncProgress;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the sync progress of the node natively and pushes GethSyncProgress
+ * events, but only when the current or highest block moved by at least the
+ * configured threshold since the last event. Once syncing is done (the client
+ * reports no progress any more) one final event with syncing false is sent.
+ */
+class SyncProgressSampler {
+    private static final String TAG = "RNGeth";
+    static final String SYNC_PROGRESS_EVENT = "GethSyncProgress";
+
+    private final GethHolder gethHolder;
+    private final EventEmitter emitter;
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+
+    // Sampling state, only touched from the scheduler thread
+    private boolean syncing;
+    private long startingBlock;
+    private long currentBlock = -1;
+    private long highestBlock = -1;
+
+    SyncProgressSampler(GethHolder gethHolder, EventEmitter emitter) {
+        this.gethHolder = gethHolder;
+        this.emitter = emitter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "RNGethSyncProgress");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Starts sampling, replacing a running sampler.
+     *
+     * @param intervalMs     time between two samples
+     * @param blockThreshold minimum number of blocks the current or highest block
+     *                       must move by before a new event is emitted
+     */
+    synchronized void start(long intervalMs, final long blockThreshold) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("intervalMs must be positive");
+        }
+        if (blockThreshold < 1) {
+            throw new IllegalArgumentException("blockThreshold must be at least 1");
+        }
+        stop();
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Make sure the first sample of the new settings is emitted
+                syncing = false;
+                currentBlock = -1;
+                highestBlock = -1;
+            }
+        });
+        task = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sample(blockThreshold);
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+    }
+
+    void shutdown() {
+        stop();
+        scheduler.shutdownNow();
+    }
+
+    private void sample(long threshold) {
+        SyncProgress sp;
+        try {
+            if (!gethHolder.getNodeStarted()) return;
+            sp = gethHolder.getNode().getEthereumClient().syncProgress(new Context());
+        } catch (Exception e) {
+            Log.w(TAG, "Failed sampling sync progress: " + e.getMessage());
+            return;
+        }
+
+        if (sp == null) {
+            if (syncing) {
+                syncing = false;
+                emit(false);
+            }
+            return;
+        }
+        long current = sp.getCurrentBlock();
+        long highest = sp.getHighestBlock();
+        if (!syncing
+                || Math.abs(current - currentBlock) >= threshold
+                || Math.abs(highest - highestBlock) >= threshold) {
+            syncing = true;
+            startingBlock = sp.getStartingBlock();
+            currentBlock = current;
+            highestBlock = highest;
+            emit(true);
+        }
+    }
+
+    private void emit(boolean syncing) {
+        WritableMap syncProgress = new WritableNativeMap();
+        syncProgress.putBoolean("syncing", syncing);
+        syncProgress.putDouble("startingBlock", startingBlock);
+        syncProgress.putDouble("currentBlock", syncing ? currentBlock : highestBlock);
+        syncProgress.putDouble("highestBlock", highestBlock);
+        emitter.emit(SYNC_PROGRESS_EVENT, syncProgress);
+    }
+}
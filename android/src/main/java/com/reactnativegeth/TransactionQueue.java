@@ -0,0 +1,322 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Hash;
+import org.ethereum.geth.Header;
+import org.ethereum.geth.Receipt;
+import org.ethereum.geth.Transaction;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broadcasts signed transactions and tracks them until they're mined.
+ *
+ * A few send threads broadcast in parallel from a bounded queue, retrying
+ * failures the network may recover from. Sent transactions are kept by hash
+ * and their receipts are looked up on every new head, until they're mined,
+ * their nonce is used by another transaction, or they stay unmined for
+ * MAX_PENDING_BLOCKS blocks. Each step is reported with a GethTransactionStatus
+ * event.
+ */
+class TransactionQueue implements HeadListener {
+    private static final String TAG = "RNGeth";
+    static final String STATUS_EVENT = "GethTransactionStatus";
+    private static final int SEND_THREADS = 2;
+    private static final int MAX_QUEUED = 256;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 500;
+    // Blocks a sent transaction may stay unmined before it's reported dropped, about an hour on Celo
+    static final long MAX_PENDING_BLOCKS = 720;
+    // Rejections of the transaction itself, sending it again can't help
+    private static final String[] PERMANENT_ERRORS = {
+            "nonce too low", "insufficient funds", "intrinsic gas too low", "exceeds block gas limit",
+            "underpriced", "invalid sender", "oversized data", "negative value"
+    };
+    // Rejections proving the transaction never entered the pool, so its nonce is still free
+    private static final String[] UNUSED_NONCE_ERRORS = {
+            "insufficient funds", "intrinsic gas too low", "exceeds block gas limit"
+    };
+    // The node already has the transaction, which is as good as sent
+    private static final String[] KNOWN_ERRORS = {"already known", "known transaction"};
+
+    static final String QUEUED = "queued";
+    static final String SENT = "sent";
+    static final String CONFIRMED = "confirmed";
+    static final String REVERTED = "reverted";
+    static final String FAILED = "failed";
+    static final String REPLACED = "replaced";
+    static final String DROPPED = "dropped";
+
+    private static final class Pending {
+        final Transaction tx;
+        final String hash;
+        final AddressKey from;
+        final long nonce;
+        volatile String status = QUEUED;
+        volatile int attempts;
+        // Head number when it was sent, -1 until a head is known
+        volatile long sentAtHead = -1;
+
+        Pending(Transaction tx, String hash, AddressKey from, long nonce) {
+            this.tx = tx;
+            this.hash = hash;
+            this.from = from;
+            this.nonce = nonce;
+        }
+    }
+
+    private final GethHolder gethHolder;
+    private final NonceManager nonceManager;
+    private final EventEmitter emitter;
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sendExecutor = new ThreadPoolExecutor(
+            SEND_THREADS, SEND_THREADS, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(MAX_QUEUED), new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RNGethSend-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+    private final ExecutorService confirmExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "RNGethConfirm");
+            t.setDaemon(true);
+            return t;
+        }
+    });
+    private final AtomicBoolean confirmPending = new AtomicBoolean();
+    private volatile long headNumber = -1;
+    private final Runnable confirmTask = new Runnable() {
+        @Override
+        public void run() {
+            confirmPending.set(false);
+            try {
+                confirm(gethHolder.getNode().getEthereumClient());
+            } catch (Exception e) {
+                Log.w(TAG, "Failed confirming transactions: " + e.getMessage());
+            }
+        }
+    };
+
+    TransactionQueue(GethHolder gethHolder, NonceManager nonceManager, EventEmitter emitter) {
+        this.gethHolder = gethHolder;
+        this.nonceManager = nonceManager;
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onHead(Header header) {
+        headNumber = header.getNumber();
+        if (!pending.isEmpty() && confirmPending.compareAndSet(false, true)) {
+            confirmExecutor.execute(confirmTask);
+        }
+    }
+
+    /**
+     * Queues a signed transaction for broadcasting.
+     *
+     * @param tx   the signed transaction
+     * @param from the address that signed it
+     * @throws IllegalStateException - if the send queue is full
+     * @return the hash of the transaction
+     */
+    String submit(Transaction tx, AddressKey from) {
+        String hash = tx.getHash().getHex();
+        final Pending entry = new Pending(tx, hash, from, tx.getNonce());
+        if (pending.putIfAbsent(hash, entry) != null) {
+            // Submitted twice, the first one is already being tracked
+            return hash;
+        }
+        // Reported before the send threads can report anything else
+        emitStatus(entry, null, -1);
+        try {
+            sendExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    send(entry);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            String error = "Too many transactions waiting to be sent";
+            pending.remove(hash);
+            entry.status = FAILED;
+            emitStatus(entry, error, -1);
+            throw new IllegalStateException(error);
+        }
+        return hash;
+    }
+
+    private void send(Pending entry) {
+        String error = null;
+        while (entry.attempts < MAX_ATTEMPTS) {
+            entry.attempts++;
+            try {
+                gethHolder.getNode().getEthereumClient().sendTransaction(new Context(), entry.tx);
+                error = null;
+            } catch (Exception e) {
+                error = String.valueOf(e.getMessage());
+            }
+            if (error == null || matches(error, KNOWN_ERRORS)) {
+                entry.sentAtHead = headNumber;
+                entry.status = SENT;
+                emitStatus(entry, null, -1);
+                return;
+            }
+            if (matches(error, PERMANENT_ERRORS) || entry.attempts == MAX_ATTEMPTS) break;
+            try {
+                Thread.sleep(RETRY_DELAY_MS << (entry.attempts - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        Log.w(TAG, "Failed sending transaction " + entry.hash + ": " + error);
+        pending.remove(entry.hash);
+        if (error != null && matches(error, UNUSED_NONCE_ERRORS)) {
+            // Lets the next reservation reuse the nonce, when it came from reserveNonce
+            nonceManager.release(entry.from, entry.nonce);
+        }
+        // Otherwise the transaction may still be in some pool, the pending nonce read on the next head settles it
+        entry.status = FAILED;
+        emitStatus(entry, error, -1);
+    }
+
+    private static boolean matches(String error, String[] patterns) {
+        String lower = error.toLowerCase(Locale.US);
+        for (String pattern : patterns) {
+            if (lower.contains(pattern)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Looks up the receipt of every sent transaction. Without one, a transaction
+     * whose nonce the sender's account has moved past was replaced, one that
+     * stayed unmined for too long was dropped, and the others are looked up
+     * again on the next head.
+     */
+    private void confirm(EthereumClient client) {
+        long head = headNumber;
+        // Latest nonce of each sender, queried at most once per pass
+        Map<AddressKey, Long> nonces = new HashMap<>();
+        for (Pending entry : pending.values()) {
+            if (!SENT.equals(entry.status)) continue;
+            if (finish(entry, findReceipt(client, entry))) continue;
+            Long nonce = nonces.get(entry.from);
+            if (nonce == null) {
+                try {
+                    nonce = client.getNonceAt(new Context(), new Address(entry.from.toHex()), -1);
+                    nonces.put(entry.from, nonce);
+                } catch (Exception e) {
+                    Log.w(TAG, "Failed reading the nonce of " + entry.from.toHex() + ": " + e.getMessage());
+                }
+            }
+            if (nonce != null && nonce > entry.nonce) {
+                // The nonce is used, by this transaction if it was mined since the lookup above
+                if (finish(entry, findReceipt(client, entry))) continue;
+                pending.remove(entry.hash);
+                entry.status = REPLACED;
+                emitStatus(entry, "Nonce " + entry.nonce + " was used by another transaction", -1);
+            } else if (entry.sentAtHead < 0) {
+                entry.sentAtHead = head;
+            } else if (head - entry.sentAtHead > MAX_PENDING_BLOCKS) {
+                pending.remove(entry.hash);
+                // Peers may still mine it, so the nonce is left to the pending nonce read on the next head
+                entry.status = DROPPED;
+                emitStatus(entry, "Not mined within " + MAX_PENDING_BLOCKS + " blocks", -1);
+            }
+        }
+    }
+
+    private static Receipt findReceipt(EthereumClient client, Pending entry) {
+        try {
+            return client.getTransactionReceipt(new Context(), new Hash(entry.hash));
+        } catch (Exception e) {
+            // geth reports "not found" until the transaction is mined
+            return null;
+        }
+    }
+
+    private boolean finish(Pending entry, Receipt receipt) {
+        if (receipt == null) return false;
+        pending.remove(entry.hash);
+        entry.status = receipt.getStatus() == 1 ? CONFIRMED : REVERTED;
+        emitStatus(entry, null, receipt.getBlockNumber());
+        return true;
+    }
+
+    private void emitStatus(Pending entry, String error, long blockNumber) {
+        WritableMap event = toMap(entry);
+        if (error == null) {
+            event.putNull("error");
+        } else {
+            event.putString("error", error);
+        }
+        if (blockNumber < 0) {
+            event.putNull("blockNumber");
+        } else {
+            event.putDouble("blockNumber", blockNumber);
+        }
+        emitter.emit(STATUS_EVENT, event);
+    }
+
+    private static WritableMap toMap(Pending entry) {
+        WritableMap map = new WritableNativeMap();
+        map.putString("hash", entry.hash);
+        map.putString("from", entry.from.toHex());
+        map.putDouble("nonce", entry.nonce);
+        map.putString("status", entry.status);
+        map.putInt("attempts", entry.attempts);
+        return map;
+    }
+
+    /**
+     * @return the transactions being sent or waiting for a receipt
+     */
+    WritableArray getPending() {
+        WritableArray array = new WritableNativeArray();
+        for (Pending entry : pending.values()) {
+            array.pushMap(toMap(entry));
+        }
+        return array;
+    }
+
+    /**
+     * Stops tracking every transaction, e.g. once another node becomes active.
+     * Transactions already queued are still sent.
+     */
+    void clear() {
+        pending.clear();
+    }
+
+    void shutdown() {
+        sendExecutor.shutdownNow();
+        confirmExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,158 @@
+package com.reactnativegeth;
+
+import android.util.Log;
+
+import org.ethereum.geth.Account;
+import org.ethereum.geth.KeyStore;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Unlocks accounts of the key store, keeping track of which ones are unlocked
+ * since the key store can't be asked.
+ *
+ * Every use of an account's unlocked key holds the account's key use lock
+ * (the read side, so uses still run in parallel). A passphrase batch unlocks
+ * its signer, signs and puts the signer back as it was while holding the write
+ * side, so no other caller ever gets to sign with an unlock made for a batch.
+ */
+class UnlockTracker {
+    private static final String TAG = "RNGeth";
+    // Safety net for the unlock of a passphrase batch, which is undone as soon as the batch completes
+    static final long BATCH_UNLOCK_TIMEOUT = 60L * 1000 * 1000 * 1000;
+
+    private static final class State {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Unlocked by unlockAccount without a timeout, geth keeps it so until the app exits
+        boolean indefinite;
+        // Unlocked by unlockAccount until expiresAt, in System.nanoTime()
+        boolean timed;
+        long expiresAt;
+    }
+
+    private final ConcurrentHashMap<AddressKey, State> states = new ConcurrentHashMap<>();
+
+    private State state(AddressKey address) {
+        State state = states.get(address);
+        if (state == null) {
+            State created = new State();
+            State existing = states.putIfAbsent(address, created);
+            state = existing != null ? existing : created;
+        }
+        return state;
+    }
+
+    /**
+     * @param address the address
+     * @return the lock to hold while using the account's unlocked key
+     */
+    Lock keyUseLock(AddressKey address) {
+        return state(address).lock.readLock();
+    }
+
+    /**
+     * Unlocks an account for unlockAccount.
+     *
+     * @param keyStore   the key store
+     * @param account    the account
+     * @param passphrase its passphrase
+     * @param timeout    the unlock duration in nanoseconds, 0 to unlock until the app exits
+     * @throws Exception - if the passphrase is wrong
+     */
+    void timedUnlock(KeyStore keyStore, Account account, String passphrase, long timeout) throws Exception {
+        State state = state(AddressKey.of(account.getAddress()));
+        state.lock.writeLock().lock();
+        try {
+            keyStore.timedUnlock(account, passphrase, timeout);
+            if (timeout == 0) {
+                state.indefinite = true;
+            } else if (!state.indefinite) {
+                // geth ignores timed unlocks of accounts unlocked indefinitely
+                state.timed = true;
+                state.expiresAt = System.nanoTime() + timeout;
+            }
+        } finally {
+            state.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a batch with its signer unlocked, without other callers being able
+     * to use the key meanwhile. Nothing is unlocked when unlockAccount already
+     * covers the batch; otherwise the signer is locked again afterwards, or
+     * unlocked until the deadline of unlockAccount when that's still ahead.
+     *
+     * @param keyStore   the key store
+     * @param account    the signer
+     * @param passphrase its passphrase
+     * @param batch      the batch, using the unlocked key
+     * @throws Exception - if the passphrase is wrong, or what the batch throws
+     * @return the batch's result
+     */
+    <T> T runUnlocked(KeyStore keyStore, Account account, String passphrase, Callable<T> batch) throws Exception {
+        State state = state(AddressKey.of(account.getAddress()));
+        state.lock.writeLock().lock();
+        try {
+            long now = System.nanoTime();
+            if (state.indefinite || (state.timed && state.expiresAt - now >= BATCH_UNLOCK_TIMEOUT)) {
+                return batch.call();
+            }
+            keyStore.timedUnlock(account, passphrase, BATCH_UNLOCK_TIMEOUT);
+            try {
+                return batch.call();
+            } finally {
+                restore(state, keyStore, account, passphrase);
+            }
+        } finally {
+            state.lock.writeLock().unlock();
+        }
+    }
+
+    private static void restore(State state, KeyStore keyStore, Account account, String passphrase) {
+        try {
+            long remaining = state.expiresAt - System.nanoTime();
+            if (state.timed && remaining > 0) {
+                keyStore.timedUnlock(account, passphrase, remaining);
+            } else {
+                state.timed = false;
+                keyStore.lock(account.getAddress());
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Failed restoring the unlock of " + account.getAddress().getHex() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param address the address
+     * @return whether unlockAccount has the account unlocked
+     */
+    boolean isUnlocked(AddressKey address) {
+        State state = states.get(address);
+        if (state == null) return false;
+        state.lock.readLock().lock();
+        try {
+            return state.indefinite || (state.timed && state.expiresAt - System.nanoTime() > 0);
+        } finally {
+            state.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets an account, e.g. once it's deleted.
+     *
+     * @param address the address
+     */
+    void forget(AddressKey address) {
+        states.remove(address);
+    }
+
+    /**
+     * Forgets every account, once the key store is replaced.
+     */
+    void clear() {
+        states.clear();
+    }
+}
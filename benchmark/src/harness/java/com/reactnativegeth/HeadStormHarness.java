@@ -0,0 +1,391 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import com.reactnativegeth.GethHolder.NodeState;
+
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Geth;
+import org.ethereum.geth.Header;
+import org.ethereum.geth.KeyStore;
+import org.ethereum.geth.Node;
+import org.ethereum.geth.NodeConfig;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Replays a storm of new heads through RNGethModule, as after a device comes
+ * back online and the light client catches up, and reports how the event
+ * pipeline coped as JSON.
+ *
+ * Headers are handed to the module's new head handler through the stand-in
+ * client, on the harness thread as the binding does from its goroutine, and
+ * every GethNewHead / GethNewHeads event is recorded on emit. The report holds
+ * the headers sent and emitted, the emit throughput, the latency from a
+ * header reaching the handler to it being emitted, and the heap growth.
+ *
+ * Options, all optional:
+ *   --headers=N            synthetic headers to send (default 5000)
+ *   --rate=N               headers per second, 0 to send them back to back (default 0)
+ *   --startBlock=N         number of the first synthetic header (default 1000000)
+ *   --replay=FILE          send the headers listed in FILE instead, one
+ *                          "offsetMs number" line per header
+ *   --mode=every|latest|batch, --maxEmitsPerSecond=N, --maxBatchSize=N,
+ *   --fields=a,b,c, --byteEncoding=array|hex|base64
+ *                          the subscribeNewHeadWithOptions options; without
+ *                          any, the legacy subscribeNewHead is used
+ *   --out=FILE             also write the report to FILE
+ */
+public class HeadStormHarness {
+    // How long the pipeline must stay quiet after the last header to be considered drained
+    private static final long DRAIN_QUIET_MS = 500;
+    private static final long DRAIN_TIMEOUT_MS = 30 * 1000;
+    private static final long HEAP_SAMPLE_INTERVAL_MS = 10;
+
+    /**
+     * Records the emitted head events. Latencies are looked up by header
+     * number, so the emitted fields must include it.
+     */
+    private static final class Recorder implements DeviceEventManagerModule.RCTDeviceEventEmitter {
+        private final long firstNumber;
+        private final AtomicLongArray sentAt;
+        private final AtomicLongArray emitted;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong headersEmitted = new AtomicLong();
+        private final AtomicLong missingNumbers = new AtomicLong();
+        private volatile long lastEmitAt;
+
+        Recorder(long firstNumber, int capacity) {
+            this.firstNumber = firstNumber;
+            this.sentAt = new AtomicLongArray(capacity);
+            this.emitted = new AtomicLongArray(capacity);
+        }
+
+        void sent(long number, long at) {
+            sentAt.set((int) (number - firstNumber), at);
+        }
+
+        @Override
+        public void emit(String eventName, Object data) {
+            long now = System.nanoTime();
+            if (NewHeadDispatcher.NEW_HEAD_EVENT.equals(eventName)) {
+                record((ReadableMap) data, now);
+            } else if (NewHeadDispatcher.NEW_HEADS_EVENT.equals(eventName)) {
+                ReadableArray headers = (ReadableArray) data;
+                for (int i = 0; i < headers.size(); i++) {
+                    record(headers.getMap(i), now);
+                }
+            } else {
+                return;
+            }
+            events.incrementAndGet();
+            lastEmitAt = now;
+        }
+
+        private void record(ReadableMap header, long now) {
+            headersEmitted.incrementAndGet();
+            if (!header.hasKey("number")) {
+                missingNumbers.incrementAndGet();
+                return;
+            }
+            int index = (int) ((long) header.getDouble("number") - firstNumber);
+            if (index < 0 || index >= sentAt.length()) return;
+            emitted.incrementAndGet(index);
+            latency.record(now - sentAt.get(index));
+        }
+
+        long distinctEmitted() {
+            long distinct = 0;
+            for (int i = 0; i < emitted.length(); i++) {
+                if (emitted.get(i) > 0) distinct++;
+            }
+            return distinct;
+        }
+    }
+
+    /**
+     * Settles synchronously for the calls made on the harness thread.
+     */
+    private static final class AwaitedPromise implements Promise {
+        private final CountDownLatch settled = new CountDownLatch(1);
+        private volatile String error;
+
+        @Override
+        public void resolve(Object value) {
+            settled.countDown();
+        }
+
+        @Override
+        public void reject(String code, String message) {
+            error = code + ": " + message;
+            settled.countDown();
+        }
+
+        @Override
+        public void reject(String code, Throwable throwable) {
+            reject(code, throwable.getMessage());
+        }
+
+        @Override
+        public void reject(String code, String message, Throwable throwable) {
+            reject(code, message);
+        }
+
+        void await() throws InterruptedException {
+            if (!settled.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("Promise did not settle");
+            if (error != null) throw new IllegalStateException(error);
+        }
+    }
+
+    /**
+     * Samples the used heap until stopped, keeping the highest value.
+     */
+    private static final class HeapSampler extends Thread {
+        private volatile boolean running = true;
+        private volatile long peak;
+
+        HeapSampler() {
+            super("HeadStormHeapSampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                peak = Math.max(peak, usedHeap());
+                try {
+                    Thread.sleep(HEAP_SAMPLE_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        long finish() throws InterruptedException {
+            running = false;
+            join();
+            return Math.max(peak, usedHeap());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        long[][] schedule = schedule(options);
+        long firstNumber = schedule[0][1];
+        long lastNumber = schedule[schedule.length - 1][1];
+        for (long[] entry : schedule) {
+            firstNumber = Math.min(firstNumber, entry[1]);
+            lastNumber = Math.max(lastNumber, entry[1]);
+        }
+        Recorder recorder = new Recorder(firstNumber, (int) (lastNumber - firstNumber + 1));
+
+        File filesDir = Files.createTempDirectory("rngeth-headstorm").toFile();
+        ReactApplicationContext reactContext = new ReactApplicationContext(filesDir, recorder);
+        GethHolder gethHolder = new GethHolder();
+        gethHolder.setReactContext(reactContext);
+        NodeConfig nodeConfig = new NodeConfig();
+        Node node = Geth.newNode(filesDir + "/.ethereum", nodeConfig);
+        gethHolder.setNodeConfig(nodeConfig);
+        gethHolder.setKeyStore(new KeyStore(filesDir + "/.ethereum/keystore", Geth.LightScryptN, Geth.LightScryptP));
+        gethHolder.setNode(node);
+        gethHolder.setNodeState(NodeState.STARTED);
+        RNGethModule module = new RNGethModule(reactContext, gethHolder);
+        EthereumClient client = node.getEthereumClient();
+
+        WritableMap deliveryOptions = deliveryOptions(options);
+        AwaitedPromise subscribed = new AwaitedPromise();
+        if (deliveryOptions == null) {
+            module.subscribeNewHead(subscribed);
+        } else {
+            module.subscribeNewHeadWithOptions(deliveryOptions, subscribed);
+        }
+        subscribed.await();
+
+        // Warm the serialization up so class loading and JIT don't land in the measurements
+        for (int i = 0; i < 1000; i++) {
+            HeaderSerializer.FULL.toMap(new Header(i));
+        }
+
+        long heapBefore = settledHeap();
+        HeapSampler heapSampler = new HeapSampler();
+        heapSampler.start();
+
+        long startedAt = System.nanoTime();
+        for (long[] entry : schedule) {
+            long due = startedAt + TimeUnit.MILLISECONDS.toNanos(entry[0]);
+            long wait = due - System.nanoTime();
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+            Header header = new Header(entry[1]);
+            recorder.sent(entry[1], System.nanoTime());
+            client.deliverNewHead(header);
+        }
+        long sentAt = System.nanoTime();
+
+        // Coalesced and batched deliveries flush on a timer
+        long drainDeadline = sentAt + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MS);
+        while (System.nanoTime() < drainDeadline) {
+            long lastEmit = Math.max(recorder.lastEmitAt, sentAt);
+            if (System.nanoTime() - lastEmit > TimeUnit.MILLISECONDS.toNanos(DRAIN_QUIET_MS)) break;
+            Thread.sleep(DRAIN_QUIET_MS / 10);
+        }
+        long drainedAt = Math.max(recorder.lastEmitAt, sentAt);
+
+        long heapPeak = heapSampler.finish();
+        long heapAfter = settledHeap();
+        module.onCatalystInstanceDestroy();
+
+        long[] counts = recorder.latency.snapshot();
+        long maxMicros = recorder.latency.getMaxMicros();
+        long distinct = recorder.distinctEmitted();
+        double sendSeconds = (sentAt - startedAt) / 1e9;
+        double totalSeconds = (drainedAt - startedAt) / 1e9;
+
+        JSONObject report = new JSONObject();
+        JSONObject config = new JSONObject();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            config.put(option.getKey(), option.getValue());
+        }
+        report.put("options", config);
+        report.put("headersSent", schedule.length);
+        report.put("headersEmitted", recorder.headersEmitted.get());
+        report.put("distinctHeadersEmitted", distinct);
+        report.put("headersDropped", schedule.length - distinct);
+        report.put("headersWithoutNumber", recorder.missingNumbers.get());
+        report.put("events", recorder.events.get());
+        report.put("sendDurationMs", sendSeconds * 1000);
+        report.put("totalDurationMs", totalSeconds * 1000);
+        report.put("headersSentPerSecond", sendSeconds > 0 ? schedule.length / sendSeconds : 0);
+        report.put("eventsPerSecond", totalSeconds > 0 ? recorder.events.get() / totalSeconds : 0);
+        report.put("headersEmittedPerSecond", totalSeconds > 0 ? recorder.headersEmitted.get() / totalSeconds : 0);
+        JSONObject latency = new JSONObject();
+        latency.put("p50Ms", LatencyHistogram.percentile(counts, 0.5, maxMicros) / 1000.0);
+        latency.put("p90Ms", LatencyHistogram.percentile(counts, 0.9, maxMicros) / 1000.0);
+        latency.put("p99Ms", LatencyHistogram.percentile(counts, 0.99, maxMicros) / 1000.0);
+        latency.put("maxMs", maxMicros / 1000.0);
+        report.put("latency", latency);
+        JSONObject heap = new JSONObject();
+        heap.put("beforeBytes", heapBefore);
+        heap.put("peakBytes", heapPeak);
+        heap.put("afterBytes", heapAfter);
+        heap.put("growthBytes", heapAfter - heapBefore);
+        report.put("heap", heap);
+
+        String json = report.toString(2);
+        System.out.println(json);
+        if (options.containsKey("out")) {
+            Writer writer = new FileWriter(options.get("out"));
+            try {
+                writer.write(json);
+            } finally {
+                writer.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * @return {offsetMs, number} for every header to send, in order
+     */
+    private static long[][] schedule(Map<String, String> options) throws IOException {
+        if (options.containsKey("replay")) {
+            List<long[]> entries = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new FileReader(options.get("replay")));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                    String[] parts = line.split("\\s+");
+                    entries.add(new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])});
+                }
+            } finally {
+                reader.close();
+            }
+            if (entries.isEmpty()) throw new IllegalArgumentException("No headers in " + options.get("replay"));
+            return entries.toArray(new long[entries.size()][]);
+        }
+        int headers = Integer.parseInt(get(options, "headers", "5000"));
+        double rate = Double.parseDouble(get(options, "rate", "0"));
+        long startBlock = Long.parseLong(get(options, "startBlock", "1000000"));
+        long[][] schedule = new long[headers][];
+        for (int i = 0; i < headers; i++) {
+            long offsetMs = rate > 0 ? (long) (i * 1000 / rate) : 0;
+            schedule[i] = new long[]{offsetMs, startBlock + i};
+        }
+        return schedule;
+    }
+
+    private static WritableMap deliveryOptions(Map<String, String> options) {
+        WritableNativeMap delivery = new WritableNativeMap();
+        if (options.containsKey("mode")) delivery.putString("mode", options.get("mode"));
+        if (options.containsKey("maxEmitsPerSecond")) {
+            delivery.putDouble("maxEmitsPerSecond", Double.parseDouble(options.get("maxEmitsPerSecond")));
+        }
+        if (options.containsKey("maxBatchSize")) {
+            delivery.putInt("maxBatchSize", Integer.parseInt(options.get("maxBatchSize")));
+        }
+        if (options.containsKey("fields")) {
+            WritableArray fields = new WritableNativeArray();
+            for (String field : options.get("fields").split(",")) {
+                fields.pushString(field.trim());
+            }
+            delivery.putArray("fields", fields);
+        }
+        if (options.containsKey("byteEncoding")) delivery.putString("byteEncoding", options.get("byteEncoding"));
+        return delivery.size() == 0 ? null : delivery;
+    }
+
+    private static String get(Map<String, String> options, String name, String fallback) {
+        String value = options.get(name);
+        return value != null ? value : fallback;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long settledHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return usedHeap();
+    }
+}
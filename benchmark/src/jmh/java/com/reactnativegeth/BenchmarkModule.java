@@ -0,0 +1,56 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import com.reactnativegeth.GethHolder.NodeState;
+
+import org.ethereum.geth.Geth;
+import org.ethereum.geth.KeyStore;
+import org.ethereum.geth.Node;
+import org.ethereum.geth.NodeConfig;
+
+import java.io.File;
+import java.nio.file.Files;
+
+/**
+ * An RNGethModule over the stand-in binding, with a started node and an
+ * in-memory key store, as after setConfig and startNode.
+ */
+final class BenchmarkModule {
+    final GethHolder gethHolder;
+    final KeyStore keyStore;
+    final Node node;
+    final RNGethModule module;
+
+    /**
+     * @param emitter receives the events the module emits
+     */
+    BenchmarkModule(DeviceEventManagerModule.RCTDeviceEventEmitter emitter) throws Exception {
+        File filesDir = Files.createTempDirectory("rngeth-benchmark").toFile();
+        filesDir.deleteOnExit();
+        ReactApplicationContext reactContext = new ReactApplicationContext(filesDir, emitter);
+        gethHolder = new GethHolder();
+        gethHolder.setReactContext(reactContext);
+        NodeConfig nodeConfig = new NodeConfig();
+        node = Geth.newNode(filesDir + "/.ethereum", nodeConfig);
+        keyStore = new KeyStore(filesDir + "/.ethereum/keystore", Geth.LightScryptN, Geth.LightScryptP);
+        gethHolder.setNodeConfig(nodeConfig);
+        gethHolder.setKeyStore(keyStore);
+        gethHolder.setNode(node);
+        gethHolder.setNodeState(NodeState.STARTED);
+        module = new RNGethModule(reactContext, gethHolder);
+    }
+
+    BenchmarkModule() throws Exception {
+        this(new DeviceEventManagerModule.RCTDeviceEventEmitter() {
+            @Override
+            public void emit(String eventName, Object data) {
+            }
+        });
+    }
+
+    void close() {
+        module.onCatalystInstanceDestroy();
+    }
+}
@@ -0,0 +1,52 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.Promise;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A promise the benchmark thread can wait on, since bridge methods settle
+ * theirs on an execution lane.
+ */
+final class BlockingPromise implements Promise {
+    private final CountDownLatch settled = new CountDownLatch(1);
+    private volatile Object value;
+    private volatile String error;
+
+    @Override
+    public void resolve(Object value) {
+        this.value = value;
+        settled.countDown();
+    }
+
+    @Override
+    public void reject(String code, String message) {
+        this.error = code + ": " + message;
+        settled.countDown();
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable) {
+        reject(code, throwable.getMessage());
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable) {
+        reject(code, message);
+    }
+
+    /**
+     * @return the resolved value
+     * @throws IllegalStateException - if the promise was rejected or didn't settle in time
+     */
+    Object await() throws InterruptedException {
+        if (!settled.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Promise did not settle");
+        }
+        if (error != null) {
+            throw new IllegalStateException(error);
+        }
+        return value;
+    }
+}
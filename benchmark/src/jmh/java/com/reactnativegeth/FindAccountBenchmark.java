@@ -0,0 +1,49 @@
+package com.reactnativegeth;
+
+import org.ethereum.geth.Account;
+import org.ethereum.geth.KeyStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the signer of a call, as every signing and unlocking method does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FindAccountBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int accounts;
+
+    private GethHolder gethHolder;
+    private String lastAddress;
+    private String lastAddressUppercase;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyStore keyStore = new KeyStore("keystore", 0, 0);
+        keyStore.addAccounts(accounts);
+        gethHolder = new GethHolder();
+        gethHolder.setKeyStore(keyStore);
+        lastAddress = keyStore.getAccounts().get(accounts - 1).getAddress().getHex();
+        lastAddressUppercase = "0x" + lastAddress.substring(2).toUpperCase();
+    }
+
+    @Benchmark
+    public Account findLastAccount() throws Exception {
+        return gethHolder.findAccount(lastAddress);
+    }
+
+    @Benchmark
+    public Account findLastAccountUppercase() throws Exception {
+        return gethHolder.findAccount(lastAddressUppercase);
+    }
+}
@@ -0,0 +1,55 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+
+import org.ethereum.geth.Header;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a header to the map sent with GethNewHead. "full" is the legacy
+ * format subscribeNewHead emits, with bloom and extra as arrays of numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HeaderMarshalingBenchmark {
+    @Param({"full", "hex", "base64", "numberAndHash"})
+    public String format;
+
+    private HeaderSerializer serializer;
+    private Header header;
+
+    @Setup
+    public void setUp() {
+        header = new Header(4521337);
+        switch (format) {
+            case "full":
+                serializer = HeaderSerializer.FULL;
+                break;
+            case "numberAndHash":
+                WritableArray fields = new WritableNativeArray();
+                fields.pushString("number");
+                fields.pushString("hash");
+                serializer = HeaderSerializer.create(fields, "hex");
+                break;
+            default:
+                serializer = HeaderSerializer.create(null, format);
+        }
+    }
+
+    @Benchmark
+    public WritableMap toMap() {
+        return serializer.toMap(header);
+    }
+}
@@ -0,0 +1,54 @@
+package com.reactnativegeth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the peers and the stats of the node to bridge maps, through the
+ * bridge methods. getPeerInfos is measured without the peer watcher running,
+ * so it reads every peer from the node.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NodeInfoSerializationBenchmark {
+    // A light client's usual peers and the default maxPeers
+    @Param({"2", "25"})
+    public int peers;
+
+    private BenchmarkModule fixture;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new BenchmarkModule();
+        fixture.node.setPeerCount(peers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Object getPeerInfos() throws Exception {
+        BlockingPromise promise = new BlockingPromise();
+        fixture.module.getPeerInfos(promise);
+        return promise.await();
+    }
+
+    @Benchmark
+    public Object getGethStats() throws Exception {
+        BlockingPromise promise = new BlockingPromise();
+        fixture.module.getGethStats(promise);
+        return promise.await();
+    }
+}
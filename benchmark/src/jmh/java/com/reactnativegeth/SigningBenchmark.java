@@ -0,0 +1,84 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs through the bridge methods, end to end: the call is queued on the
+ * crypto lane, the payload is decoded, signed by the stand-in key store and
+ * encoded back, in each payload encoding. The stand-in signs instantly, so what's measured
+ * is the bridge's own overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningBenchmark {
+    // A plain transfer, a contract call and a contract deployment
+    @Param({"110", "1024", "16384"})
+    public int txBytes;
+
+    @Param({"base64", "base64NoWrap", "hex"})
+    public String payloadEncoding;
+
+    private BenchmarkModule fixture;
+    private String signer;
+    private PayloadCodec codec;
+    private String txRLP;
+    private String hash;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new BenchmarkModule();
+        fixture.keyStore.addAccounts(1);
+        WritableNativeMap config = new WritableNativeMap();
+        config.putString("payloadEncoding", payloadEncoding);
+        BlockingPromise configured = new BlockingPromise();
+        fixture.module.setConfig(config, configured);
+        configured.await();
+        codec = PayloadCodec.fromName(payloadEncoding);
+        signer = fixture.keyStore.getAccounts().get(0).getAddress().getHex();
+        Random random = new Random(txBytes);
+        byte[] tx = new byte[txBytes];
+        random.nextBytes(tx);
+        txRLP = codec.encode(tx);
+        byte[] hashBytes = new byte[32];
+        random.nextBytes(hashBytes);
+        hash = codec.encode(hashBytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Object signTransaction() throws Exception {
+        BlockingPromise promise = new BlockingPromise();
+        fixture.module.signTransaction(txRLP, signer, promise);
+        return promise.await();
+    }
+
+    @Benchmark
+    public Object signHash() throws Exception {
+        BlockingPromise promise = new BlockingPromise();
+        fixture.module.signHash(hash, signer, promise);
+        return promise.await();
+    }
+
+    @Benchmark
+    public byte[] decodeTransaction() {
+        return codec.decode(txRLP);
+    }
+}
@@ -0,0 +1,86 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import org.ethereum.geth.Header;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Submits a burst of transactions through submitTransaction and waits until
+ * every one was sent, then delivers a new head and waits until every one was
+ * confirmed. The stand-in client sends and mines instantly, so what's measured
+ * is the queue's own signing, sending and tracking overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionQueueBenchmark {
+    @Param({"1", "16", "128"})
+    public int transactions;
+
+    private final Semaphore sent = new Semaphore(0);
+    private final Semaphore confirmed = new Semaphore(0);
+    private BenchmarkModule fixture;
+    private String signer;
+    private byte[] tx;
+    private long head;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new BenchmarkModule(new DeviceEventManagerModule.RCTDeviceEventEmitter() {
+            @Override
+            public void emit(String eventName, Object data) {
+                if (!TransactionQueue.STATUS_EVENT.equals(eventName)) return;
+                String status = ((ReadableMap) data).getString("status");
+                if (TransactionQueue.SENT.equals(status)) {
+                    sent.release();
+                } else if (TransactionQueue.CONFIRMED.equals(status)) {
+                    confirmed.release();
+                }
+            }
+        });
+        fixture.keyStore.addAccounts(1);
+        signer = fixture.keyStore.getAccounts().get(0).getAddress().getHex();
+        BlockingPromise subscribed = new BlockingPromise();
+        fixture.module.subscribeNewHead(subscribed);
+        subscribed.await();
+        // A plain transfer, its first bytes are overwritten so every submission has its own hash
+        tx = new byte[110];
+        new Random(transactions).nextBytes(tx);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public long submitTransactions() throws Exception {
+        for (int i = 0; i < transactions; i++) {
+            long id = head * transactions + i;
+            for (int b = 0; b < 8; b++) {
+                tx[b] = (byte) (id >>> (8 * b));
+            }
+            BlockingPromise promise = new BlockingPromise();
+            fixture.module.submitTransaction(PayloadCodec.BASE64.encode(tx), signer, promise);
+            promise.await();
+        }
+        sent.acquire(transactions);
+        fixture.node.getEthereumClient().deliverNewHead(new Header(++head));
+        confirmed.acquire(transactions);
+        return head;
+    }
+}
@@ -0,0 +1,78 @@
+package android.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JVM stand-in for android.util.Base64 on top of java.util.Base64, with the
+ * same output: DEFAULT wraps lines at 76 characters and ends with a newline,
+ * and decoding skips line breaks.
+ */
+public final class Base64 {
+    public static final int DEFAULT = 0;
+    public static final int NO_PADDING = 1;
+    public static final int NO_WRAP = 2;
+    public static final int CRLF = 4;
+    public static final int URL_SAFE = 8;
+
+    private static final int LINE_LENGTH = 76;
+
+    private Base64() {
+    }
+
+    public static byte[] decode(String str, int flags) {
+        return decode(str.getBytes(StandardCharsets.US_ASCII), flags);
+    }
+
+    public static byte[] decode(byte[] input, int flags) {
+        if ((flags & URL_SAFE) != 0) {
+            return java.util.Base64.getUrlDecoder().decode(stripWhitespace(input));
+        }
+        return java.util.Base64.getMimeDecoder().decode(input);
+    }
+
+    public static String encodeToString(byte[] input, int flags) {
+        return new String(encode(input, flags), StandardCharsets.US_ASCII);
+    }
+
+    public static String encodeToString(byte[] input, int offset, int len, int flags) {
+        byte[] slice = new byte[len];
+        System.arraycopy(input, offset, slice, 0, len);
+        return encodeToString(slice, flags);
+    }
+
+    public static byte[] encode(byte[] input, int flags) {
+        java.util.Base64.Encoder encoder = (flags & URL_SAFE) != 0
+                ? java.util.Base64.getUrlEncoder()
+                : java.util.Base64.getEncoder();
+        if ((flags & NO_PADDING) != 0) {
+            encoder = encoder.withoutPadding();
+        }
+        byte[] encoded = encoder.encode(input);
+        if ((flags & NO_WRAP) != 0 || encoded.length == 0) {
+            return encoded;
+        }
+        byte[] newline = (flags & CRLF) != 0 ? new byte[]{'\r', '\n'} : new byte[]{'\n'};
+        int lines = (encoded.length + LINE_LENGTH - 1) / LINE_LENGTH;
+        byte[] wrapped = new byte[encoded.length + lines * newline.length];
+        int out = 0;
+        for (int start = 0; start < encoded.length; start += LINE_LENGTH) {
+            int len = Math.min(LINE_LENGTH, encoded.length - start);
+            System.arraycopy(encoded, start, wrapped, out, len);
+            out += len;
+            System.arraycopy(newline, 0, wrapped, out, newline.length);
+            out += newline.length;
+        }
+        return wrapped;
+    }
+
+    private static byte[] stripWhitespace(byte[] input) {
+        byte[] stripped = new byte[input.length];
+        int len = 0;
+        for (byte b : input) {
+            if (b != '\n' && b != '\r' && b != ' ' && b != '\t') stripped[len++] = b;
+        }
+        byte[] result = new byte[len];
+        System.arraycopy(stripped, 0, result, 0, len);
+        return result;
+    }
+}
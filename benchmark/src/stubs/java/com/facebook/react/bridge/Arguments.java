@@ -0,0 +1,26 @@
+package com.facebook.react.bridge;
+
+/**
+ * JVM stand-in for the React Native argument factory.
+ */
+public final class Arguments {
+    private Arguments() {
+    }
+
+    public static WritableMap createMap() {
+        return new WritableNativeMap();
+    }
+
+    public static WritableArray createArray() {
+        return new WritableNativeArray();
+    }
+
+    static ReadableType typeOf(Object value) {
+        if (value == null) return ReadableType.Null;
+        if (value instanceof Boolean) return ReadableType.Boolean;
+        if (value instanceof Double) return ReadableType.Number;
+        if (value instanceof String) return ReadableType.String;
+        if (value instanceof ReadableMap) return ReadableType.Map;
+        return ReadableType.Array;
+    }
+}
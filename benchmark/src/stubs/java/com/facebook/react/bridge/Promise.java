@@ -0,0 +1,14 @@
+package com.facebook.react.bridge;
+
+/**
+ * JVM stand-in for the React Native promise interface.
+ */
+public interface Promise {
+    void resolve(Object value);
+
+    void reject(String code, String message);
+
+    void reject(String code, Throwable throwable);
+
+    void reject(String code, String message, Throwable throwable);
+}
@@ -0,0 +1,11 @@
+package com.facebook.react.bridge;
+
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.io.File;
+
+public class ReactApplicationContext extends ReactContext {
+    public ReactApplicationContext(File filesDir, DeviceEventManagerModule.RCTDeviceEventEmitter eventEmitter) {
+        super(filesDir, eventEmitter);
+    }
+}
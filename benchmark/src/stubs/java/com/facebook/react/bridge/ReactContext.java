@@ -0,0 +1,35 @@
+package com.facebook.react.bridge;
+
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.io.File;
+
+/**
+ * JVM stand-in for the React context. Events go to the device event emitter
+ * given to the constructor, and the files dir is a plain directory.
+ */
+public class ReactContext {
+    private final File filesDir;
+    private final DeviceEventManagerModule.RCTDeviceEventEmitter eventEmitter;
+
+    public ReactContext(File filesDir, DeviceEventManagerModule.RCTDeviceEventEmitter eventEmitter) {
+        this.filesDir = filesDir;
+        this.eventEmitter = eventEmitter;
+    }
+
+    public File getFilesDir() {
+        return filesDir;
+    }
+
+    public boolean hasActiveCatalystInstance() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+        if (jsInterface != DeviceEventManagerModule.RCTDeviceEventEmitter.class) {
+            throw new UnsupportedOperationException(jsInterface.getName());
+        }
+        return (T) eventEmitter;
+    }
+}
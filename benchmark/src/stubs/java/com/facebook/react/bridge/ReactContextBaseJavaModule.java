@@ -0,0 +1,23 @@
+package com.facebook.react.bridge;
+
+import java.util.Map;
+
+public abstract class ReactContextBaseJavaModule implements NativeModule {
+    private final ReactApplicationContext reactContext;
+
+    public ReactContextBaseJavaModule(ReactApplicationContext reactContext) {
+        this.reactContext = reactContext;
+    }
+
+    protected final ReactApplicationContext getReactApplicationContext() {
+        return reactContext;
+    }
+
+    public Map<String, Object> getConstants() {
+        return null;
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+    }
+}
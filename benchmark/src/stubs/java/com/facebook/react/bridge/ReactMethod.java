@@ -0,0 +1,12 @@
+package com.facebook.react.bridge;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReactMethod {
+    boolean isBlockingSynchronousMethod() default false;
+}
@@ -0,0 +1,98 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for the React Native array, backed by an ArrayList where the
+ * real one is backed by a native folly::dynamic. Numbers are kept as doubles
+ * as on the bridge.
+ */
+public class WritableNativeArray implements WritableArray {
+    private final List<Object> values = new ArrayList<>();
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public boolean isNull(int index) {
+        return values.get(index) == null;
+    }
+
+    @Override
+    public boolean getBoolean(int index) {
+        return (Boolean) values.get(index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return (Double) values.get(index);
+    }
+
+    @Override
+    public int getInt(int index) {
+        return ((Double) values.get(index)).intValue();
+    }
+
+    @Override
+    public String getString(int index) {
+        return (String) values.get(index);
+    }
+
+    @Override
+    public ReadableArray getArray(int index) {
+        return (ReadableArray) values.get(index);
+    }
+
+    @Override
+    public ReadableMap getMap(int index) {
+        return (ReadableMap) values.get(index);
+    }
+
+    @Override
+    public ReadableType getType(int index) {
+        return Arguments.typeOf(values.get(index));
+    }
+
+    @Override
+    public void pushNull() {
+        values.add(null);
+    }
+
+    @Override
+    public void pushBoolean(boolean value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushDouble(double value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushInt(int value) {
+        values.add((double) value);
+    }
+
+    @Override
+    public void pushString(String value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushArray(WritableArray array) {
+        values.add(array);
+    }
+
+    @Override
+    public void pushMap(WritableMap map) {
+        values.add(map);
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
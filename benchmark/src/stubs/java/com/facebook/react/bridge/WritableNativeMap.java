@@ -0,0 +1,105 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in for the React Native map, backed by a HashMap where the real
+ * one is backed by a native folly::dynamic. Numbers are kept as doubles as on
+ * the bridge.
+ */
+public class WritableNativeMap implements WritableMap {
+    private final Map<String, Object> values = new HashMap<>();
+
+    @Override
+    public boolean hasKey(String name) {
+        return values.containsKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return values.get(name) == null;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return (Boolean) values.get(name);
+    }
+
+    @Override
+    public double getDouble(String name) {
+        return (Double) values.get(name);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return ((Double) values.get(name)).intValue();
+    }
+
+    @Override
+    public String getString(String name) {
+        return (String) values.get(name);
+    }
+
+    @Override
+    public ReadableArray getArray(String name) {
+        return (ReadableArray) values.get(name);
+    }
+
+    @Override
+    public ReadableMap getMap(String name) {
+        return (ReadableMap) values.get(name);
+    }
+
+    @Override
+    public ReadableType getType(String name) {
+        return Arguments.typeOf(values.get(name));
+    }
+
+    @Override
+    public void putNull(String key) {
+        values.put(key, null);
+    }
+
+    @Override
+    public void putBoolean(String key, boolean value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        values.put(key, (double) value);
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putArray(String key, WritableArray value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putMap(String key, WritableMap value) {
+        values.put(key, value);
+    }
+
+    /**
+     * @return the number of entries, not part of the React Native API
+     */
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package org.ethereum.geth;
+
+public class Account {
+    private final Address address;
+    private final String url;
+
+    public Account(Address address, String url) {
+        this.address = address;
+        this.url = url;
+    }
+
+    public Address getAddress() {
+        return address;
+    }
+
+    public String getURL() {
+        return url;
+    }
+}
@@ -0,0 +1,24 @@
+package org.ethereum.geth;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A copy of the key store's accounts, as the binding returns.
+ */
+public class Accounts {
+    private final List<Account> accounts;
+
+    Accounts(List<Account> accounts) {
+        this.accounts = new ArrayList<>(accounts);
+    }
+
+    public long size() {
+        return accounts.size();
+    }
+
+    public Account get(long index) throws Exception {
+        if (index < 0 || index >= accounts.size()) throw new Exception("index out of bounds");
+        return accounts.get((int) index);
+    }
+}
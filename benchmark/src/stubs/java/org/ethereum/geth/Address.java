@@ -0,0 +1,26 @@
+package org.ethereum.geth;
+
+public class Address {
+    private final byte[] bytes;
+
+    public Address(String hex) throws Exception {
+        this.bytes = Bytes.fromHex(hex, 20);
+    }
+
+    public Address(byte[] bytes) throws Exception {
+        this.bytes = Bytes.checkLength(bytes, 20);
+    }
+
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    public String getHex() {
+        return Bytes.toHex(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return getHex();
+    }
+}
@@ -0,0 +1,36 @@
+package org.ethereum.geth;
+
+import java.math.BigInteger;
+
+public class BigInt {
+    private BigInteger value;
+
+    public BigInt(long x) {
+        this.value = BigInteger.valueOf(x);
+    }
+
+    public byte[] getBytes() {
+        return value.abs().toByteArray();
+    }
+
+    public long getInt64() {
+        return value.longValue();
+    }
+
+    public String getString(long base) {
+        return value.toString((int) base);
+    }
+
+    public void setString(String x, long base) {
+        value = new BigInteger(x, (int) base);
+    }
+
+    public long sign() {
+        return value.signum();
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
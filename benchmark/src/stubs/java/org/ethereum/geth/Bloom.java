@@ -0,0 +1,17 @@
+package org.ethereum.geth;
+
+public class Bloom {
+    private final byte[] bytes;
+
+    public Bloom(byte[] bytes) throws Exception {
+        this.bytes = Bytes.checkLength(bytes, 256);
+    }
+
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    public String getHex() {
+        return Bytes.toHex(bytes);
+    }
+}
@@ -0,0 +1,56 @@
+package org.ethereum.geth;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Helpers of the stand-ins, not part of the geth API.
+ */
+final class Bytes {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Bytes() {
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[2 + bytes.length * 2];
+        chars[0] = '0';
+        chars[1] = 'x';
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 + i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[3 + i * 2] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    static byte[] fromHex(String hex, int length) throws Exception {
+        String digits = hex.startsWith("0x") || hex.startsWith("0X") ? hex.substring(2) : hex;
+        if (digits.length() != length * 2) {
+            throw new Exception("invalid hex length " + digits.length() + ", want " + length * 2);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            int hi = Character.digit(digits.charAt(i * 2), 16);
+            int lo = Character.digit(digits.charAt(i * 2 + 1), 16);
+            if (hi < 0 || lo < 0) throw new Exception("invalid hex string");
+            bytes[i] = (byte) ((hi << 4) | lo);
+        }
+        return bytes;
+    }
+
+    static byte[] checkLength(byte[] bytes, int length) throws Exception {
+        if (bytes.length != length) {
+            throw new Exception("invalid length " + bytes.length + ", want " + length);
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * @return bytes derived from the seed, the same on every run
+     */
+    static byte[] derive(long seed, int length) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
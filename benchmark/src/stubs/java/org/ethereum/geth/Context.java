@@ -0,0 +1,17 @@
+package org.ethereum.geth;
+
+public class Context {
+    public Context() {
+    }
+
+    public Context withCancel() {
+        return this;
+    }
+
+    public Context withTimeout(long nanoseconds) {
+        return this;
+    }
+
+    public void cancel() {
+    }
+}
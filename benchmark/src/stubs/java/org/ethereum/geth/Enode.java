@@ -0,0 +1,15 @@
+package org.ethereum.geth;
+
+public class Enode {
+    private final String url;
+
+    public Enode(String url) throws Exception {
+        if (!url.startsWith("enode://")) throw new Exception("invalid enode: " + url);
+        this.url = url;
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+}
@@ -0,0 +1,18 @@
+package org.ethereum.geth;
+
+public class Enodes {
+    private final Enode[] enodes;
+
+    public Enodes(long size) {
+        this.enodes = new Enode[(int) size];
+    }
+
+    public long size() {
+        return enodes.length;
+    }
+
+    public void set(long index, Enode enode) throws Exception {
+        if (index < 0 || index >= enodes.length) throw new Exception("index out of bounds");
+        enodes[(int) index] = enode;
+    }
+}
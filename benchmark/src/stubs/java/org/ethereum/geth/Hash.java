@@ -0,0 +1,26 @@
+package org.ethereum.geth;
+
+public class Hash {
+    private final byte[] bytes;
+
+    public Hash(String hex) throws Exception {
+        this.bytes = Bytes.fromHex(hex, 32);
+    }
+
+    public Hash(byte[] bytes) throws Exception {
+        this.bytes = Bytes.checkLength(bytes, 32);
+    }
+
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    public String getHex() {
+        return Bytes.toHex(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return getHex();
+    }
+}
@@ -0,0 +1,105 @@
+package org.ethereum.geth;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * An in-memory key store. Accounts get deterministic addresses, passphrases
+ * are ignored, and signatures are derived bytes of the real length, so the
+ * bridge code around them does the same work as with the real key store.
+ */
+public class KeyStore {
+    private static final int SIGNATURE_LENGTH = 65;
+
+    private final String keydir;
+    private final List<Account> accounts = new CopyOnWriteArrayList<>();
+
+    public KeyStore(String keydir, long scryptN, long scryptP) {
+        this.keydir = keydir;
+    }
+
+    /**
+     * Adds accounts with addresses derived from their index, not part of the geth API.
+     *
+     * @param count the number of accounts to add
+     */
+    public void addAccounts(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            newAccount("");
+        }
+    }
+
+    public Accounts getAccounts() {
+        return new Accounts(accounts);
+    }
+
+    public boolean hasAddress(Address address) {
+        for (Account account : accounts) {
+            if (Arrays.equals(account.getAddress().getBytes(), address.getBytes())) return true;
+        }
+        return false;
+    }
+
+    public Account newAccount(String passphrase) throws Exception {
+        Address address = new Address(Bytes.derive(accounts.size(), 20));
+        Account account = new Account(address, "keystore://" + keydir + "/" + address.getHex());
+        accounts.add(account);
+        return account;
+    }
+
+    public Account importECDSAKey(byte[] key, String passphrase) throws Exception {
+        return newAccount(passphrase);
+    }
+
+    public Account importKey(byte[] keyJSON, String passphrase, String newPassphrase) throws Exception {
+        return newAccount(newPassphrase);
+    }
+
+    public byte[] exportKey(Account account, String passphrase, String newPassphrase) throws Exception {
+        return Bytes.derive(account.getAddress().hashCode(), 491);
+    }
+
+    public void updateAccount(Account account, String passphrase, String newPassphrase) throws Exception {
+    }
+
+    public void deleteAccount(Account account, String passphrase) throws Exception {
+        accounts.remove(account);
+    }
+
+    public void unlock(Account account, String passphrase) throws Exception {
+    }
+
+    public void timedUnlock(Account account, String passphrase, long timeout) throws Exception {
+    }
+
+    public void lock(Address address) throws Exception {
+    }
+
+    public Transaction signTx(Account account, Transaction tx, BigInt chainID) throws Exception {
+        byte[] rlp = tx.encodeRLP();
+        byte[] signed = Arrays.copyOf(rlp, rlp.length + SIGNATURE_LENGTH);
+        System.arraycopy(Bytes.derive(Arrays.hashCode(rlp), SIGNATURE_LENGTH), 0, signed, rlp.length, SIGNATURE_LENGTH);
+        return new Transaction(signed);
+    }
+
+    public Transaction signTxPassphrase(Account account, String passphrase, Transaction tx, BigInt chainID) throws Exception {
+        return signTx(account, tx, chainID);
+    }
+
+    public byte[] signHash(Address address, byte[] hash) throws Exception {
+        return Bytes.derive(Arrays.hashCode(hash), SIGNATURE_LENGTH);
+    }
+
+    public byte[] signHashPassphrase(Account account, String passphrase, byte[] hash) throws Exception {
+        return signHash(account.getAddress(), hash);
+    }
+
+    public byte[] computeECDHSharedSecret(Account account, byte[] publicKey) throws Exception {
+        return Bytes.derive(Arrays.hashCode(publicKey), 32);
+    }
+
+    public byte[] decrypt(Account account, byte[] cipher) throws Exception {
+        return Arrays.copyOf(cipher, Math.max(0, cipher.length - 113));
+    }
+}
@@ -0,0 +1,7 @@
+package org.ethereum.geth;
+
+public interface NewHeadHandler {
+    void onError(String error);
+
+    void onNewHead(Header header);
+}
@@ -0,0 +1,58 @@
+package org.ethereum.geth;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A node that starts and stops instantly, with a settable set of peers.
+ */
+public class Node {
+    private final EthereumClient client = new EthereumClient();
+    private volatile PeerInfos peerInfos = new PeerInfos(new ArrayList<PeerInfo>());
+    private volatile Stats stats = Stats.typical();
+
+    /**
+     * Sets the connected peers, not part of the geth API.
+     *
+     * @param count the number of peers, each derived from its index
+     */
+    public void setPeerCount(int count) {
+        List<PeerInfo> peers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            peers.add(new PeerInfo(i));
+        }
+        peerInfos = new PeerInfos(peers);
+    }
+
+    /**
+     * Sets the stats returned by getGethStats, not part of the geth API.
+     */
+    public void setGethStats(Stats stats) {
+        this.stats = stats;
+    }
+
+    public void start() throws Exception {
+    }
+
+    public void stop() throws Exception {
+    }
+
+    public void close() throws Exception {
+    }
+
+    public EthereumClient getEthereumClient() throws Exception {
+        return client;
+    }
+
+    public NodeInfo getNodeInfo() {
+        return new NodeInfo();
+    }
+
+    public PeerInfos getPeerInfos() {
+        return peerInfos;
+    }
+
+    public Stats getGethStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,49 @@
+package org.ethereum.geth;
+
+public class NodeConfig {
+    private long ethereumNetworkID = 44787;
+
+    public NodeConfig() {
+    }
+
+    public long getEthereumNetworkID() {
+        return ethereumNetworkID;
+    }
+
+    public void setEthereumNetworkID(long id) {
+        this.ethereumNetworkID = id;
+    }
+
+    public void setMaxPeers(long maxPeers) {
+    }
+
+    public void setEthereumGenesis(String genesis) {
+    }
+
+    public void setSyncMode(long syncMode) {
+    }
+
+    public void setUseLightweightKDF(boolean useLightweightKDF) {
+    }
+
+    public void setNoDiscovery(boolean noDiscovery) {
+    }
+
+    public void setBootstrapNodes(Enodes enodes) {
+    }
+
+    public void setHTTPHost(String host) {
+    }
+
+    public void setHTTPPort(long port) {
+    }
+
+    public void setHTTPVirtualHosts(String hosts) {
+    }
+
+    public void setHTTPModules(String modules) {
+    }
+
+    public void setIPCPath(String path) {
+    }
+}
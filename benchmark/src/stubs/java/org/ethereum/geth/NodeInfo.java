@@ -0,0 +1,39 @@
+package org.ethereum.geth;
+
+import java.util.Arrays;
+
+public class NodeInfo {
+    private final String id = Bytes.toHex(Bytes.derive(42, 32)).substring(2);
+
+    public String getID() {
+        return id;
+    }
+
+    public String getName() {
+        return "GethDroid/v1.0.0-stable/android-arm64/go1.13.11";
+    }
+
+    public String getEnode() {
+        return "enode://" + Bytes.toHex(Bytes.derive(43, 64)).substring(2) + "@127.0.0.1:30303";
+    }
+
+    public String getIP() {
+        return "127.0.0.1";
+    }
+
+    public long getDiscoveryPort() {
+        return 30303;
+    }
+
+    public long getListenerPort() {
+        return 30303;
+    }
+
+    public String getListenerAddress() {
+        return "[::]:30303";
+    }
+
+    public Strings getProtocols() {
+        return new Strings(Arrays.asList("les"));
+    }
+}
@@ -0,0 +1,54 @@
+package org.ethereum.geth;
+
+import java.util.Arrays;
+
+public class PeerInfo {
+    private final String id;
+    private final String name;
+    private final Strings caps;
+    private final String enode;
+    private final String localAddress;
+    private final String remoteAddress;
+
+    /**
+     * Not part of the geth API.
+     *
+     * @param index the peer's position, from which its details are derived
+     */
+    public PeerInfo(int index) {
+        this.id = Bytes.toHex(Bytes.derive(1000 + index, 32)).substring(2);
+        this.name = "celo/v1.0.0-stable/linux-amd64/go1.13.11";
+        this.caps = new Strings(Arrays.asList("istanbul/64", "les/2", "les/3"));
+        this.remoteAddress = "35.197." + (index / 250) + "." + (index % 250 + 1) + ":30303";
+        this.localAddress = "10.0.2.15:" + (40000 + index);
+        this.enode = "enode://" + Bytes.toHex(Bytes.derive(2000 + index, 64)).substring(2) + "@" + remoteAddress;
+    }
+
+    public String getID() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Strings getCaps() {
+        return caps;
+    }
+
+    public String getEnode() {
+        return enode;
+    }
+
+    public String getPurposes() {
+        return "";
+    }
+
+    public String getLocalAddress() {
+        return localAddress;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+}
@@ -0,0 +1,21 @@
+package org.ethereum.geth;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PeerInfos {
+    private final List<PeerInfo> peers;
+
+    public PeerInfos(List<PeerInfo> peers) {
+        this.peers = new ArrayList<>(peers);
+    }
+
+    public long size() {
+        return peers.size();
+    }
+
+    public PeerInfo get(long index) throws Exception {
+        if (index < 0 || index >= peers.size()) throw new Exception("index out of bounds");
+        return peers.get((int) index);
+    }
+}
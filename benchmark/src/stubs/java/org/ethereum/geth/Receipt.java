@@ -0,0 +1,19 @@
+package org.ethereum.geth;
+
+public class Receipt {
+    private final long status;
+    private final long blockNumber;
+
+    public Receipt(long status, long blockNumber) {
+        this.status = status;
+        this.blockNumber = blockNumber;
+    }
+
+    public long getStatus() {
+        return status;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+}
@@ -0,0 +1,58 @@
+package org.ethereum.geth;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Stats {
+    private final Map<String, String> values;
+
+    public Stats(Map<String, String> values) {
+        this.values = new LinkedHashMap<>(values);
+    }
+
+    /**
+     * @return stats shaped like a syncing light client's, not part of the geth API
+     */
+    static Stats typical() {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("chain/head/block", "4521337");
+        values.put("chain/head/header", "4521337");
+        values.put("chain/head/receipt", "4521337");
+        values.put("chain/inserts", "1204");
+        values.put("chain/account/reads", "0");
+        values.put("les/client/req/rtt", "182.5");
+        values.put("les/client/req/timeout", "3");
+        values.put("les/client/serverPool/connected", "2");
+        values.put("les/client/serverPool/selectable", "14");
+        values.put("les/client/serverPool/dialed", "37");
+        values.put("les/client/serverPool/timeout", "5");
+        values.put("p2p/peers", "2");
+        values.put("p2p/dials", "41");
+        values.put("p2p/serves", "0");
+        values.put("p2p/ingress", "18348211");
+        values.put("p2p/egress", "1203044");
+        values.put("system/memory/allocs", "8932011");
+        values.put("system/memory/held", "41943040");
+        values.put("system/memory/used", "27514880");
+        values.put("system/cpu/goroutines", "97");
+        values.put("system/disk/readbytes", "5128192");
+        values.put("system/disk/writebytes", "96837632");
+        values.put("txpool/pending", "0");
+        values.put("txpool/queued", "0");
+        values.put("eth/downloader/headers/in", "2048");
+        values.put("eth/downloader/headers/drop", "0");
+        values.put("eth/downloader/throttle", "0");
+        values.put("trie/memcache/commit/size", "0");
+        values.put("version", "1.9.8-stable");
+        return new Stats(values);
+    }
+
+    public Strings getStatsKeys() {
+        return new Strings(new ArrayList<>(values.keySet()));
+    }
+
+    public String getValue(String key) {
+        return values.get(key);
+    }
+}
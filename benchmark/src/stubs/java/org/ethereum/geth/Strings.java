@@ -0,0 +1,26 @@
+package org.ethereum.geth;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Strings {
+    private final List<String> values;
+
+    public Strings(List<String> values) {
+        this.values = new ArrayList<>(values);
+    }
+
+    public long size() {
+        return values.size();
+    }
+
+    public String get(long index) throws Exception {
+        if (index < 0 || index >= values.size()) throw new Exception("index out of bounds");
+        return values.get((int) index);
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package org.ethereum.geth;
+
+public class Subscription {
+    private final Runnable onUnsubscribe;
+
+    public Subscription() {
+        this(null);
+    }
+
+    Subscription(Runnable onUnsubscribe) {
+        this.onUnsubscribe = onUnsubscribe;
+    }
+
+    public void unsubscribe() {
+        if (onUnsubscribe != null) onUnsubscribe.run();
+    }
+}
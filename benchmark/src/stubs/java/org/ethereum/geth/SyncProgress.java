@@ -0,0 +1,33 @@
+package org.ethereum.geth;
+
+public class SyncProgress {
+    private final long startingBlock;
+    private final long currentBlock;
+    private final long highestBlock;
+
+    public SyncProgress(long startingBlock, long currentBlock, long highestBlock) {
+        this.startingBlock = startingBlock;
+        this.currentBlock = currentBlock;
+        this.highestBlock = highestBlock;
+    }
+
+    public long getStartingBlock() {
+        return startingBlock;
+    }
+
+    public long getCurrentBlock() {
+        return currentBlock;
+    }
+
+    public long getHighestBlock() {
+        return highestBlock;
+    }
+
+    public long getKnownStates() {
+        return 0;
+    }
+
+    public long getPulledStates() {
+        return 0;
+    }
+}
@@ -0,0 +1,31 @@
+package org.ethereum.geth;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the RLP bytes as given, nothing is decoded.
+ */
+public class Transaction {
+    private final byte[] rlp;
+
+    public Transaction(byte[] rlp) throws Exception {
+        if (rlp == null || rlp.length == 0) throw new Exception("rlp: empty input");
+        this.rlp = rlp.clone();
+    }
+
+    public byte[] encodeRLP() throws Exception {
+        return rlp.clone();
+    }
+
+    public Hash getHash() {
+        try {
+            return new Hash(Bytes.derive(Arrays.hashCode(rlp), 32));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public long getNonce() {
+        return 0;
+    }
+}
@@ -0,0 +1,57 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableNativeArray;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BloomWatchListTest {
+    private static final String ADDRESS = "0x471ece3750da237f93b8e339c536989b8978a438";
+    private static final String TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    private static void add(byte[] bloom, byte[] item) {
+        int[] bits = BloomWatchList.bloomBits(item);
+        for (int i = 0; i < bits.length; i += 2) {
+            bloom[bits[i]] |= bits[i + 1];
+        }
+    }
+
+    private static WritableArray array(String... items) {
+        WritableArray array = new WritableNativeArray();
+        for (String item : items) {
+            array.pushString(item);
+        }
+        return array;
+    }
+
+    @Test
+    public void setsTheBitsGethSets() throws Exception {
+        // TestBloomExtensively of go-ethereum's core/types
+        byte[] bloom = new byte[256];
+        for (int i = 0; i < 100; i++) {
+            add(bloom, ("xxxxxxxxxx data " + i + " yyyyyyyyyyyyyy").getBytes("UTF-8"));
+        }
+        assertEquals("0xc8d3ca65cdb4874300a9e39475508f23ed6da09fdbc487f89a2dcf50b09eb263",
+                Hex.encode(Keccak.keccak256(bloom)));
+    }
+
+    @Test
+    public void matchesWatchesWhoseAddressAndTopicsAreInTheBloom() {
+        byte[] bloom = new byte[256];
+        add(bloom, Hex.decode(ADDRESS));
+        add(bloom, Hex.decode(TOPIC));
+        BloomWatchList watches = new BloomWatchList();
+        watches.add("transfers", array(ADDRESS), array(TOPIC));
+        watches.add("address", array(ADDRESS), null);
+        watches.add("other", array("0x0000000000000000000000000000000000000001"), null);
+
+        WritableArray matched = watches.match(bloom);
+        assertEquals(2, matched.size());
+        assertEquals("transfers", matched.getString(0));
+        assertEquals("address", matched.getString(1));
+        assertNull(watches.match(new byte[256]));
+    }
+}
@@ -0,0 +1,67 @@
+package com.reactnativegeth;
+
+import com.facebook.react.bridge.WritableArray;
+
+import org.ethereum.geth.Header;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+public class HeaderRingTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private static void assertNumbers(WritableArray headers, long... numbers) {
+        assertEquals(numbers.length, headers.size());
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(numbers[i], (long) headers.getMap(i).getDouble("number"));
+        }
+    }
+
+    @Test
+    public void keepsTheLatestHeadersOnceItWrapsAround() throws Exception {
+        HeaderRing ring = new HeaderRing();
+        ring.open(folder.getRoot(), 4);
+        for (long number = 1; number <= 6; number++) {
+            ring.record(new Header(number));
+        }
+        assertNumbers(ring.read(10), 6, 5, 4, 3);
+        assertNumbers(ring.read(2), 6, 5);
+    }
+
+    @Test
+    public void readsBackTheHeadersAfterReopening() throws Exception {
+        File dataDir = folder.getRoot();
+        HeaderRing ring = new HeaderRing();
+        ring.open(dataDir, 4);
+        for (long number = 1; number <= 5; number++) {
+            ring.record(new Header(number));
+        }
+        ring.close();
+
+        HeaderRing reopened = new HeaderRing();
+        reopened.open(dataDir, 4);
+        assertNumbers(reopened.read(10), 5, 4, 3, 2);
+        assertEquals(new Header(5).getHash().getHex(), reopened.read(1).getMap(0).getString("hash"));
+    }
+
+    @Test
+    public void skipsHeadersAboveAReorganizedHead() throws Exception {
+        HeaderRing ring = new HeaderRing();
+        ring.open(folder.getRoot(), 8);
+        for (long number = 1; number <= 5; number++) {
+            ring.record(new Header(number));
+        }
+        ring.record(new Header(3));
+        assertNumbers(ring.read(10), 3, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesCapacitiesBeyondTheMaximum() throws Exception {
+        new HeaderRing().open(folder.getRoot(), HeaderRing.MAX_CAPACITY + 1);
+    }
+}
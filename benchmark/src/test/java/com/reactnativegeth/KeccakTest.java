@@ -0,0 +1,35 @@
+package com.reactnativegeth;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Known answers of Keccak-256, the original padding geth hashes with rather than SHA3-256.
+ */
+public class KeccakTest {
+    private static String keccak(byte[] input) {
+        return Hex.encode(Keccak.keccak256(input));
+    }
+
+    @Test
+    public void hashesEmptyInput() {
+        assertEquals("0xc5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470", keccak(new byte[0]));
+    }
+
+    @Test
+    public void hashesShortInput() throws Exception {
+        assertEquals("0x4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45",
+                keccak("abc".getBytes("UTF-8")));
+    }
+
+    @Test
+    public void hashesInputLongerThanTheRate() {
+        // 200 bytes span two 136 byte blocks
+        byte[] input = new byte[200];
+        Arrays.fill(input, (byte) 0xa3);
+        assertEquals("0x3a57666b048777f2c953dc4456f45a2588e1cb6f2da760122d530ac2ce607d4a", keccak(input));
+    }
+}
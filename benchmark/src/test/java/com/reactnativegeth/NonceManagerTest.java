@@ -0,0 +1,89 @@
+package com.reactnativegeth;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Context;
+import org.ethereum.geth.EthereumClient;
+import org.ethereum.geth.Header;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NonceManagerTest {
+    private static final AddressKey ADDRESS = AddressKey.fromHex("0x471ece3750da237f93b8e339c536989b8978a438");
+
+    private final NonceManager nonces = new NonceManager(new GethHolder());
+    private long pending = 5;
+    private final EthereumClient client = new EthereumClient() {
+        @Override
+        public long getPendingNonceAt(Context ctx, Address account) {
+            return pending;
+        }
+    };
+
+    @After
+    public void tearDown() {
+        nonces.shutdown();
+    }
+
+    @Test
+    public void handsOutNoncesFromThePendingOne() throws Exception {
+        assertEquals(5, nonces.reserve(client, ADDRESS));
+        assertEquals(6, nonces.reserve(client, ADDRESS));
+        assertEquals(7, nonces.reserve(client, ADDRESS));
+    }
+
+    @Test
+    public void reusesReleasedNoncesLowestFirst() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            nonces.reserve(client, ADDRESS);
+        }
+        assertTrue(nonces.release(ADDRESS, 6));
+        assertTrue(nonces.release(ADDRESS, 5));
+        assertFalse(nonces.release(ADDRESS, 5));
+        assertEquals(5, nonces.reserve(client, ADDRESS));
+        assertEquals(6, nonces.reserve(client, ADDRESS));
+        // Released at the top, the next one shrinks back
+        assertTrue(nonces.release(ADDRESS, 8));
+        assertEquals(8, nonces.reserve(client, ADDRESS));
+    }
+
+    @Test
+    public void reconcileMovesUpToThePendingNonce() throws Exception {
+        nonces.reserve(client, ADDRESS);
+        nonces.reserve(client, ADDRESS);
+        pending = 10;
+        nonces.reconcile(client);
+        assertEquals(10, nonces.reserve(client, ADDRESS));
+    }
+
+    @Test
+    public void reconcileFollowsThePendingNonceDownOnceNothingIsReserved() throws Exception {
+        nonces.reserve(client, ADDRESS);
+        nonces.reserve(client, ADDRESS);
+        nonces.release(ADDRESS, 5);
+        pending = 3;
+        nonces.reconcile(client);
+        // 6 is still reserved
+        assertEquals(5, nonces.reserve(client, ADDRESS));
+        nonces.release(ADDRESS, 5);
+        nonces.release(ADDRESS, 6);
+        nonces.reconcile(client);
+        assertEquals(3, nonces.reserve(client, ADDRESS));
+    }
+
+    @Test
+    public void reconcileReleasesAbandonedReservations() throws Exception {
+        nonces.onHead(new Header(100));
+        nonces.reserve(client, ADDRESS);
+        nonces.reserve(client, ADDRESS);
+        nonces.reconcile(client);
+        assertEquals(7, nonces.reserve(client, ADDRESS));
+
+        nonces.onHead(new Header(100 + NonceManager.MAX_RESERVED_BLOCKS + 1));
+        nonces.reconcile(client);
+        assertEquals(5, nonces.reserve(client, ADDRESS));
+    }
+}
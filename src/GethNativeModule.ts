@@ -3,7 +3,9 @@
  */
 export declare type NodeConfig = {
   bootnodeEnodes?: string[];
+  cryptoQueueDepth?: number;
   enodes?: string;
+  gasPriceMaxAgeMs?: number;
   genesis?: string;
   httpHost?: string;
   httpModules?: string;
@@ -11,15 +13,281 @@ export declare type NodeConfig = {
   httpVirtualHosts?: string;
   ipcPath?: string;
   keyStoreDir?: string;
+  keyStoreScryptN?: number;
+  keyStoreScryptP?: number;
   logFile?: string;
   logFileLogLevel?: number;
+  logFileMaxBytes?: number;
+  logFileMaxSegments?: number;
   maxPeers?: number;
   networkID?: number;
+  networkQueueDepth?: number;
   noDiscovery?: boolean;
   nodeDir?: string;
+  payloadEncoding?: 'base64' | 'base64NoWrap' | 'hex';
+  peerCacheSize?: number;
+  recentHeadersCapacity?: number;
+  sharedSecretCacheSize?: number;
+  stateQueueDepth?: number;
   syncMode?: number;
   useLightweightKDF?: boolean;
 };
+/**
+ * How new heads are delivered by subscribeNewHeadWithOptions
+ */
+export declare type NewHeadOptions = {
+  /**
+   * every: a GethNewHead event per header (default)
+   * latest: a GethNewHead event for the most recent header only
+   * batch: a GethNewHeads event with all headers since the previous emit
+   * relevant: a GethRelevantHead event for the headers whose bloom may match a bloom watch
+   */
+  mode?: 'every' | 'latest' | 'batch' | 'relevant';
+  /** Rate limit of the latest and batch modes, 0 for none */
+  maxEmitsPerSecond?: number;
+  /** Headers kept per batch, the oldest ones are dropped beyond this (default: 256) */
+  maxBatchSize?: number;
+  /** Header fields to emit (default: all of them) */
+  fields?: Array<'parentHash' | 'coinbase' | 'root' | 'TxHash' | 'receiptHash' | 'bloom' | 'number' | 'gasUsed' | 'time' | 'hash' | 'extra'>;
+  /**
+   * Encoding of the extra and bloom fields
+   * array: extra as an array of bytes and bloom as hex (default)
+   * hex / base64: both as a string in that encoding
+   */
+  byteEncoding?: 'array' | 'hex' | 'base64';
+};
+/**
+ * Settings of the native sync progress sampler
+ */
+export declare type SyncProgressOptions = {
+  /** Time between two samples in milliseconds (default: 1000) */
+  intervalMs?: number;
+  /** Blocks currentBlock or highestBlock must move by before an event is sent (default: 1) */
+  blockThreshold?: number;
+};
+/**
+ * Lifecycle state of the node
+ */
+export declare type NodeState = 'unconfigured' | 'configured' | 'starting' | 'started' | 'stopping' | 'stopped' | 'failed';
+/**
+ * Payload of the GethNodeLifecycle event, sent on every state transition
+ * and startup phase (nodeOpen, firstPeer, firstHeader)
+ */
+export declare type NodeLifecycleEvent = {
+  /** The node instance, "default" unless standby nodes are used */
+  instance: string;
+  state: NodeState;
+  phase: 'nodeOpen' | 'firstPeer' | 'firstHeader' | null;
+  /** Milliseconds since startNode (or stopNode) was called */
+  elapsedMs: number;
+  error: string | null;
+};
+/**
+ * A node instance listed by getNodeInstances
+ */
+export declare type NodeInstanceInfo = {
+  name: string;
+  state: NodeState;
+  /** Whether queries go to this node */
+  active: boolean;
+};
+/**
+ * A GethActiveNodeChanged event
+ */
+export declare type ActiveNodeChangedEvent = {
+  instance: string;
+  previous: string;
+};
+/**
+ * Addresses and log topics to look for in the bloom of new heads
+ */
+export declare type BloomWatch = {
+  /** Contract addresses, one of which must be in the bloom */
+  addresses?: string[];
+  /** Log topics, all of which must be in the bloom */
+  topics?: string[];
+};
+/**
+ * A GethRelevantHead event
+ */
+export declare type RelevantHeadEvent = {
+  /** The header, with the fields and encoding of the subscription */
+  header: object;
+  /** Ids of the watches that may match the block */
+  watches: string[];
+};
+/**
+ * A transaction submitted with submitTransaction, as tracked natively
+ */
+export declare type PendingTransaction = {
+  hash: string;
+  from: string;
+  nonce: number;
+  /**
+   * queued, sent, then confirmed or reverted once mined, failed when it couldn't be sent,
+   * replaced when another transaction used its nonce, dropped when it wasn't mined for 720 blocks
+   */
+  status: 'queued' | 'sent' | 'confirmed' | 'reverted' | 'failed' | 'replaced' | 'dropped';
+  /** Times it was broadcast */
+  attempts: number;
+};
+/**
+ * A GethTransactionStatus event
+ */
+export declare type TransactionStatusEvent = PendingTransaction & {
+  /** Why it failed, was replaced or dropped, null otherwise */
+  error: string | null;
+  /** The block it was mined in, once confirmed or reverted */
+  blockNumber: number | null;
+};
+/**
+ * The outcome of one payload of a batch call,
+ * exactly one of `result` and `error` is set
+ */
+export declare type BatchResult = {
+  result: string | null;
+  error: string | null;
+};
+/**
+ * The balance of one address returned by balancesAt,
+ * exactly one of `balance` and `error` is set
+ */
+export declare type BalanceResult = {
+  address: string;
+  /** Balance in wei as a decimal string */
+  balance: string | null;
+  error: string | null;
+};
+/**
+ * Settings of the native geth stats sampler
+ */
+export declare type GethStatsSamplerOptions = {
+  /** Time between two samples in milliseconds (default: 1000) */
+  periodMs?: number;
+  /** Samples kept per stat, oldest dropped first (default: 600) */
+  capacity?: number;
+};
+/**
+ * Summary of the samples of one stat over a window
+ */
+export declare type GethStatsSummary = {
+  min: number;
+  max: number;
+  mean: number;
+  last: number;
+  count: number;
+};
+/**
+ * The samples kept for one stat, oldest first
+ */
+export declare type GethStatsSeries = {
+  /** Sample times in milliseconds since the epoch */
+  times: number[];
+  values: number[];
+};
+/**
+ * Metrics of one bridge method, latencies run from the call reaching
+ * the native module to its promise settling
+ */
+export declare type MethodMetrics = {
+  calls: number;
+  errors: number;
+  /** Rejections per error code */
+  errorsByCode: { [code: string]: number };
+  p50Ms: number;
+  p90Ms: number;
+  p99Ms: number;
+  maxMs: number;
+};
+/**
+ * Options of readLog
+ */
+export declare type ReadLogOptions = {
+  /** The cursor returned by the previous read, or null to start from the oldest segment */
+  cursor?: string | null;
+  /** The most verbose level returned, from 0 (crit) to 5 (trace) (default: all lines) */
+  level?: number;
+  /** Only return lines containing this */
+  contains?: string | null;
+  /** How many bytes of the log to scan at most (default: 262144) */
+  maxBytes?: number;
+};
+/**
+ * Lines read by readLog
+ */
+export declare type ReadLogResult = {
+  lines: string[];
+  /** Pass to the next read to continue after these lines */
+  cursor: string;
+  /** Whether lines are left to read right away */
+  more: boolean;
+  /** Whether the cursor pointed to a segment that was already dropped */
+  missed: boolean;
+};
+/**
+ * An account to unlock with unlockAccounts
+ */
+export declare type UnlockRequest = {
+  address: string;
+  passphrase: string;
+};
+/**
+ * The outcome of unlocking one account with unlockAccounts
+ */
+export declare type UnlockResult = {
+  address: string;
+  unlocked: boolean;
+  /** Why the account wasn't unlocked, null if it was */
+  error: string | null;
+};
+/**
+ * Accounts unlocked by unlockAccounts
+ */
+export declare type UnlockAccountsResult = {
+  /** In the order of the requests */
+  results: UnlockResult[];
+  /** Time taken to unlock all of them */
+  wallTimeMs: number;
+};
+/**
+ * Options of calibrateKeyStoreScrypt
+ */
+export declare type ScryptCalibrationOptions = {
+  /** The longest acceptable unlock time (default: 1000) */
+  targetMs?: number;
+  /** The scrypt parallelization to calibrate N for (default: 1) */
+  scryptP?: number;
+  /** The largest N to try (default: 262144) */
+  maxN?: number;
+};
+/**
+ * Scrypt N recommended by calibrateKeyStoreScrypt, for the scryptP it was given
+ */
+export declare type ScryptCalibration = {
+  scryptN: number;
+  /** The scryptP of the options, only N is calibrated */
+  scryptP: number;
+  /** Time taken to unlock a key encrypted with scryptN */
+  unlockMs: number;
+  /** False when even the lightest N unlocks slower than the target */
+  meetsTarget: boolean;
+  /** Every N tried with its unlock time */
+  samples: { scryptN: number; unlockMs: number }[];
+};
+/**
+ * A GethKeyStoreMigration event, one per key
+ */
+export declare type KeyStoreMigrationEvent = {
+  address: string;
+  migrated: boolean;
+  /** Why the key wasn't re-encrypted, null if it was */
+  error: string | null;
+  /** Keys processed so far */
+  completed: number;
+  total: number;
+  /** Whether this was the last key */
+  done: boolean;
+};
 /**
 * GethNativeModule defines the interface for the native modules:
 * iOS:     RNGeth.m (exposed from RNGeth.swift)
@@ -37,6 +305,9 @@ export interface GethNativeModule {
   setConfig: (config: NodeConfig) => Promise<boolean>;
   /**
    * Start creates a live P2P node and starts running it.
+   * On Android the node starts in the background and the promise resolves
+   * right away, progress is reported through GethNodeLifecycle events,
+   * and it rejects with NODE_NOT_CONFIGURED_ERROR before setConfig.
    * @returns success status of operation
    */
   startNode: () => Promise<boolean>;
@@ -45,11 +316,117 @@ export interface GethNativeModule {
    * @returns success status of operation
    */
   stopNode: () => Promise<boolean>;
+  /**
+   * Retrieves the lifecycle state of the node (Android only)
+   * @returns the state
+   */
+  getNodeState?: () => Promise<NodeState>;
+  /**
+   * Creates or reconfigures a named standby node (Android only)
+   * It has its own nodeDir and network but shares the keystore of the active node.
+   * @param name - the name of the node
+   * @param config - the node options of setConfig, nodeDir is required
+   * @returns success status of operation
+   */
+  setStandbyConfig?: (name: string, config: NodeConfig) => Promise<boolean>;
+  /**
+   * Starts a standby node in the background (Android only)
+   * @param name - the name of the node
+   * @returns true if the node is starting, false if it already was
+   */
+  startStandbyNode?: (name: string) => Promise<boolean>;
+  /**
+   * Stops a standby node (Android only)
+   * @param name - the name of the node
+   * @returns true if stopped, false if it wasn't running
+   */
+  stopStandbyNode?: (name: string) => Promise<boolean>;
+  /**
+   * Makes a started node the one every query goes to (Android only)
+   * @param name - the name of the node, "default" for the one configured by setConfig
+   * @returns true if switched, false if the node was already active
+   */
+  switchNode?: (name: string) => Promise<boolean>;
+  /**
+   * Lists the node instances (Android only)
+   * @returns the instances with their state
+   */
+  getNodeInstances?: () => Promise<NodeInstanceInfo[]>;
   /**
    * Subscribes to notifications about the current blockchain head
    * @return true if subscribed
    */
   subscribeNewHead: () => Promise<boolean>;
+  /**
+   * Subscribes to notifications about the current blockchain head,
+   * coalescing headers natively (Android only)
+   * @param options - the delivery mode
+   * @return true if subscribed
+   */
+  subscribeNewHeadWithOptions?: (options: NewHeadOptions) => Promise<boolean>;
+  /**
+   * Retrieves the most recent headers seen, persisted across restarts (Android only)
+   * Only needs setConfig, not a started node.
+   * @param count - how many headers to return at most
+   * @returns the headers, newest first, in the format of GethNewHead events
+   */
+  getRecentHeaders?: (count: number) => Promise<object[]>;
+  /**
+   * Adds or replaces a watch for the relevant new head mode (Android only)
+   * @param id - the id reported in GethRelevantHead events
+   * @param watch - the addresses and topics to look for
+   * @return true if added
+   */
+  addBloomWatch?: (id: string, watch: BloomWatch) => Promise<boolean>;
+  /**
+   * Removes a bloom watch (Android only)
+   * @param id - the id of the watch
+   * @return true if there was a watch with that id
+   */
+  removeBloomWatch?: (id: string) => Promise<boolean>;
+  /**
+   * Removes every bloom watch (Android only)
+   * @return true
+   */
+  clearBloomWatches?: () => Promise<boolean>;
+  /**
+   * Stops emitting new head events (Android only)
+   * @return true
+   */
+  unsubscribeNewHead?: () => Promise<boolean>;
+  /**
+   * Starts pushing GethSyncProgress events, sampled natively (Android only)
+   * Events are only sent when the progress moved past the threshold,
+   * plus a final one with `syncing: false` once syncing is done.
+   * @param options - the sampling interval and threshold
+   * @return true if started
+   */
+  startSyncProgressUpdates?: (options: SyncProgressOptions) => Promise<boolean>;
+  /**
+   * Stops pushing GethSyncProgress events (Android only)
+   * @return true
+   */
+  stopSyncProgressUpdates?: () => Promise<boolean>;
+  /**
+   * Reserves the next nonce of an address from the native nonce allocator (Android only)
+   * Only the first reservation of an address queries the network.
+   * @param address - the address that will send the transaction
+   * @returns the nonce
+   */
+  reserveNonce?: (address: string) => Promise<number>;
+  /**
+   * Hands back a reserved nonce whose transaction won't be sent (Android only)
+   * @param address - the address the nonce was reserved for
+   * @param nonce - the reserved nonce
+   * @returns whether the nonce was reserved
+   */
+  releaseNonce?: (address: string, nonce: number) => Promise<boolean>;
+  /**
+   * Drops the local nonce state of an address (Android only)
+   * @param address - the address
+   * @returns true
+   */
+  resetNonce?: (address: string) => Promise<boolean>;
   /**
    * Sign a RLP-encoded transaction with the passphrase
    * @param txRLPBase64 - The RLP encoded transaction
@@ -67,6 +444,18 @@ export interface GethNativeModule {
    * @returns the signed transaction in RLP as a base64 string
    */
   signTransaction: (txRLPBase64: string, signer: string) => Promise<string>;
+  /**
+   * Sign a RLP-encoded transaction with an unlocked account and broadcast it
+   * natively, reporting its progress with GethTransactionStatus events (Android only)
+   * @param txRLPBase64 - The RLP encoded transaction in base64
+   * @param signer - Address of the signer (must be unlocked)
+   * @returns the hash of the signed transaction
+   */
+  submitTransaction?: (txRLPBase64: string, signer: string) => Promise<string>;
+  /**
+   * Transactions submitted with submitTransaction that aren't mined yet (Android only)
+   */
+  getPendingTransactions?: () => Promise<PendingTransaction[]>;
   /**
    * Sign arbitrary hash with passphrase
    * @param hashHex - input to sign encoded as a hex string
@@ -80,6 +469,36 @@ export interface GethNativeModule {
    * @param signer - Address of the signer (must be unlocked)
    */
   signHash: (hashBase64: string, signer: string) => Promise<string>;
+  /**
+   * Sign several RLP-encoded transactions with an unlocked account (Android only)
+   * @param txRLPBase64s - The RLP encoded transactions in base64
+   * @param signer - Address of the signer (must be unlocked)
+   * @returns the signed transactions in RLP as base64 strings, in input order
+   */
+  signTransactions?: (txRLPBase64s: string[], signer: string) => Promise<BatchResult[]>;
+  /**
+   * Sign several RLP-encoded transactions, unlocking the signer once (Android only)
+   * @param txRLPBase64s - The RLP encoded transactions in base64
+   * @param signer - Address of the signer (can be locked, is locked afterwards)
+   * @param passphrase - The passphrase for the signer's account
+   * @returns the signed transactions in RLP as base64 strings, in input order
+   */
+  signTransactionsPassphrase?: (txRLPBase64s: string[], signer: string, passphrase: string) => Promise<BatchResult[]>;
+  /**
+   * Sign several hashes with an unlocked account (Android only)
+   * @param hashBase64s - the hashes in base64
+   * @param signer - Address of the signer (must be unlocked)
+   * @returns the signatures in base64, in input order
+   */
+  signHashes?: (hashBase64s: string[], signer: string) => Promise<BatchResult[]>;
+  /**
+   * Sign several hashes, unlocking the signer once (Android only)
+   * @param hashBase64s - the hashes in base64
+   * @param signer - Address of the signer (can be locked, is locked afterwards)
+   * @param passphrase - The passphrase for the signer's account
+   * @returns the signatures in base64, in input order
+   */
+  signHashesPassphrase?: (hashBase64s: string[], signer: string, passphrase: string) => Promise<BatchResult[]>;
   /**
    * Add a new account
    * @param privateKey - the private key in base64
@@ -103,6 +522,42 @@ export interface GethNativeModule {
    * @returns the unlocked status of the account
    */
   unlockAccount: (account: string, passphrase: string, timeout: number) => Promise<boolean>;
+  /**
+   * Unlock several accounts, deriving their keys in parallel (Android only)
+   * A wrong passphrase only fails its own account.
+   * @param accounts - the addresses to unlock with their passphrases
+   * @param timeout - unlock duration in nanoseconds, 0 to unlock until the app exits
+   * @returns the unlocked status of each account and the time taken
+   */
+  unlockAccounts?: (accounts: UnlockRequest[], timeout: number) => Promise<UnlockAccountsResult>;
+  /**
+   * Finds the largest scrypt N that unlocks within a target latency on this device, at a given scryptP (Android only)
+   * Pass the result as keyStoreScryptN and keyStoreScryptP to setConfig.
+   * @param options - the target latency and the range of N to try
+   * @returns the recommended parameters and the unlock time of every N tried
+   */
+  calibrateKeyStoreScrypt?: (options: ScryptCalibrationOptions) => Promise<ScryptCalibration>;
+  /**
+   * Re-encrypts keys in the background with the configured keyStoreScryptN and keyStoreScryptP (Android only)
+   * Progress is reported through GethKeyStoreMigration events.
+   * @param accounts - the addresses to re-encrypt with their passphrases
+   * @returns true once the migration has started
+   */
+  migrateKeyStore?: (accounts: UnlockRequest[]) => Promise<boolean>;
+  /**
+   * Returns the balances of several addresses, queried concurrently (Android only)
+   * Balances already fetched at the current head are answered from memory
+   * while a new head subscription is active.
+   * @param addresses - the addresses to look up
+   * @returns the balances, in the order of the addresses
+   */
+  balancesAt?: (addresses: string[]) => Promise<BalanceResult[]>;
+  /**
+   * Retrieves the currently suggested gas price (Android only)
+   * Cached per head block and refreshed in the background on new heads.
+   * @returns the gas price in wei as a decimal string
+   */
+  suggestGasPrice?: () => Promise<string>;
   /**
    * Returns all key files present in the directory.
    * @returns all accounts
@@ -121,7 +576,14 @@ export interface GethNativeModule {
    * @param ciphertext - the cipher to be decrypted
    * @returns the decrypted text
    */
-  decrypt: (account: string, ciphertext: string) => Promise<string>;    
+  decrypt: (account: string, ciphertext: string) => Promise<string>;
+  /**
+   * Decrypts several ECIES ciphertexts of one account in parallel (Android only)
+   * @param account - the address of the user
+   * @param ciphertexts - the ciphers to be decrypted
+   * @returns the decrypted texts, in the order of the ciphers
+   */
+  decryptBatch?: (account: string, ciphertexts: string[]) => Promise<BatchResult[]>;    
 
   /**
    * Returns all stats collected by the geth mobile module
@@ -140,4 +602,79 @@ export interface GethNativeModule {
    * @returns Array of Maps that represent each peer info
    */
   getPeerInfos: () => Promise<Array<Map<string, string>>>,
+
+  /**
+   * Starts watching the connected peers natively (Android only)
+   * Emits GethPeerAdded and GethPeerRemoved with an array of the peers that
+   * changed, and getPeerInfos is answered from the watcher's snapshot meanwhile.
+   * @param intervalMs - time between two polls of the node
+   * @returns true if started
+   */
+  startPeerUpdates?: (intervalMs: number) => Promise<boolean>,
+
+  /**
+   * Stops watching the connected peers (Android only)
+   * @returns true
+   */
+  stopPeerUpdates?: () => Promise<boolean>,
+
+  /**
+   * Starts sampling getGethStats natively, keeping the numeric values (Android only)
+   * @param options - sampling period and samples kept per stat
+   * @returns true if started
+   */
+  startGethStatsSampler?: (options: GethStatsSamplerOptions) => Promise<boolean>,
+
+  /**
+   * Stops sampling getGethStats, the samples taken so far are kept (Android only)
+   * @returns true
+   */
+  stopGethStatsSampler?: () => Promise<boolean>,
+
+  /**
+   * Summarizes the sampled stats over a window (Android only)
+   * @param key - the stat to summarize, or null for all of them
+   * @param windowMs - how far back to look, 0 for every sample kept
+   * @returns the summary of each stat with samples in the window
+   */
+  getGethStatsSummary?: (key: string | null, windowMs: number) => Promise<{ [key: string]: GethStatsSummary }>,
+
+  /**
+   * Returns every sample kept for one stat (Android only)
+   * @param key - the stat
+   * @returns the sample times and values, oldest first
+   */
+  getGethStatsSeries?: (key: string) => Promise<GethStatsSeries>,
+
+  /**
+   * Returns the metrics of every bridge method called so far (Android only)
+   * @returns a map of method name to its metrics
+   */
+  getMetrics?: () => Promise<{ [method: string]: MethodMetrics }>,
+
+  /**
+   * Forgets the bridge method metrics recorded so far (Android only)
+   * @returns true
+   */
+  resetMetrics?: () => Promise<boolean>,
+
+  /**
+   * Starts emitting the result of getMetrics as GethMetrics events (Android only)
+   * @param intervalMs - time between two events
+   * @returns true if started
+   */
+  startMetricsUpdates?: (intervalMs: number) => Promise<boolean>,
+
+  /**
+   * Stops emitting GethMetrics events (Android only)
+   * @returns true
+   */
+  stopMetricsUpdates?: () => Promise<boolean>,
+
+  /**
+   * Reads the lines the node logged to logFile since a cursor (Android only)
+   * @param options - cursor and filters
+   * @returns the matching lines and the cursor to continue from
+   */
+  readLog?: (options: ReadLogOptions) => Promise<ReadLogResult>,
 }
@@ -1,5 +1,5 @@
 import { NativeModules } from 'react-native'
 import { GethNativeModule } from './GethNativeModule';
-export { NodeConfig, GethNativeModule } from "./GethNativeModule";
+export { NodeConfig, GethNativeModule, BatchResult, NewHeadOptions, BalanceResult, SyncProgressOptions, NodeState, NodeLifecycleEvent, GethStatsSamplerOptions, GethStatsSummary, GethStatsSeries, MethodMetrics, ReadLogOptions, ReadLogResult, UnlockRequest, UnlockResult, UnlockAccountsResult, ScryptCalibrationOptions, ScryptCalibration, KeyStoreMigrationEvent, NodeInstanceInfo, ActiveNodeChangedEvent, BloomWatch, RelevantHeadEvent, PendingTransaction, TransactionStatusEvent } from "./GethNativeModule";
 
 export default NativeModules.RNGeth as GethNativeModule